@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.DefaultProfileUtil;
@@ -19,7 +20,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Optional;
 
-@SpringBootApplication(scanBasePackages = {"de.apnmt.common", "de.apnmt.k8s.common", "de.apnmt.appointment.common", "de.apnmt.appointment"})
+// The R2DBC connection factory of the reactive reads is not a bean, a connection factory bean would disable the JDBC data source
+@SpringBootApplication(
+    scanBasePackages = {"de.apnmt.common", "de.apnmt.k8s.common", "de.apnmt.appointment.common", "de.apnmt.appointment"},
+    exclude = R2dbcAutoConfiguration.class
+)
 @EnableConfigurationProperties({LiquibaseProperties.class, ApplicationProperties.class})
 public class AppointmentserviceApp {
 
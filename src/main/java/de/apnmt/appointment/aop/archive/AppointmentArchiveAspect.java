@@ -0,0 +1,141 @@
+package de.apnmt.appointment.aop.archive;
+
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.repository.AppointmentRow;
+import de.apnmt.appointment.service.archive.AppointmentArchiveService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Aspect adding archived appointments to the read endpoints of the appointment REST controller.
+ * <p>
+ * The range reads of an organization and of an employee are completed with the archived appointments lying within the
+ * range, ordered by start and id together with the current ones. The archive is only queried if the range reaches
+ * back to the latest archived appointment of the organization. The lookup by id falls back to the archive if the
+ * appointment is not found. Runs outside of the {@link de.apnmt.appointment.aop.range.AppointmentRangeAspect}, which
+ * answers the range reads without proceeding.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class AppointmentArchiveAspect {
+
+    private static final String ORGANIZATION_PATH = "/appointments/organization/{organizationId}";
+
+    private static final String EMPLOYEE_PATH = "/appointments/organization/{organizationId}/employee/{employeeId}";
+
+    private static final String APPOINTMENT_PATH = "/appointments/{id}";
+
+    private static final Comparator<AppointmentDTO> ORDER = Comparator
+        .comparing(AppointmentDTO::getStartAt, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(AppointmentDTO::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final AppointmentArchiveService appointmentArchiveService;
+
+    public AppointmentArchiveAspect(AppointmentArchiveService appointmentArchiveService) {
+        this.appointmentArchiveService = appointmentArchiveService;
+    }
+
+    /**
+     * Pointcut that matches all endpoints of the appointment REST controller.
+     */
+    @Pointcut("within(de.apnmt.appointment.common.web.rest.AppointmentResource)")
+    public void appointmentResourcePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that adds the archived appointments to the result of the read endpoints.
+     *
+     * @param joinPoint  join point for advice.
+     * @param getMapping the mapping of the endpoint.
+     * @return result.
+     * @throws Throwable if the endpoint fails.
+     */
+    @Around(value = "appointmentResourcePointcut() && @annotation(getMapping)", argNames = "joinPoint,getMapping")
+    public Object addArchived(ProceedingJoinPoint joinPoint, GetMapping getMapping) throws Throwable {
+        List<String> paths = paths(getMapping.value(), getMapping.path());
+        Object[] args = joinPoint.getArgs();
+        List<Long> ids = arguments(args, Long.class);
+        List<LocalDateTime> range = arguments(args, LocalDateTime.class);
+        if (paths.contains(APPOINTMENT_PATH) && ids.size() == 1) {
+            return this.findOne(joinPoint, ids.get(0));
+        }
+        if (range.size() != 2) {
+            return joinPoint.proceed();
+        }
+        if (paths.contains(ORGANIZATION_PATH) && ids.size() == 1) {
+            return merge(joinPoint.proceed(), this.appointmentArchiveService.findWithin(ids.get(0), range.get(0), range.get(1)));
+        }
+        if (paths.contains(EMPLOYEE_PATH) && ids.size() == 2) {
+            return merge(joinPoint.proceed(), this.appointmentArchiveService.findWithin(ids.get(0), ids.get(1), range.get(0), range.get(1)));
+        }
+        return joinPoint.proceed();
+    }
+
+    private Object findOne(ProceedingJoinPoint joinPoint, Long id) throws Throwable {
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (ResponseStatusException e) {
+            if (e.getStatus() != HttpStatus.NOT_FOUND) {
+                throw e;
+            }
+            Optional<AppointmentRow> archived = this.appointmentArchiveService.findOne(id);
+            if (archived.isEmpty()) {
+                throw e;
+            }
+            return ResponseEntity.ok(archived.get().toDto());
+        }
+        if (result instanceof ResponseEntity && ((ResponseEntity<?>) result).getStatusCode() == HttpStatus.NOT_FOUND) {
+            return this.appointmentArchiveService.findOne(id).<Object>map(archived -> ResponseEntity.ok(archived.toDto())).orElse(result);
+        }
+        return result;
+    }
+
+    private static Object merge(Object result, List<AppointmentRow> archived) {
+        if (archived.isEmpty() || !(result instanceof ResponseEntity) || !(((ResponseEntity<?>) result).getBody() instanceof List)) {
+            return result;
+        }
+        ResponseEntity<?> response = (ResponseEntity<?>) result;
+        List<AppointmentDTO> appointments = new ArrayList<>();
+        for (Object appointment : (List<?>) response.getBody()) {
+            appointments.add((AppointmentDTO) appointment);
+        }
+        for (AppointmentRow row : archived) {
+            appointments.add(row.toDto());
+        }
+        appointments.sort(ORDER);
+        return new ResponseEntity<>(appointments, response.getHeaders(), response.getStatusCode());
+    }
+
+    private static <T> List<T> arguments(Object[] args, Class<T> type) {
+        List<T> arguments = new ArrayList<>();
+        for (Object arg : args) {
+            if (type.isInstance(arg)) {
+                arguments.add(type.cast(arg));
+            }
+        }
+        return arguments;
+    }
+
+    private static List<String> paths(String[] value, String[] path) {
+        List<String> paths = new ArrayList<>(Arrays.asList(value));
+        paths.addAll(Arrays.asList(path));
+        return paths;
+    }
+}
@@ -0,0 +1,148 @@
+package de.apnmt.appointment.aop.booking;
+
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.service.booking.AdvisoryLocks;
+import de.apnmt.appointment.service.booking.AppointmentIntervalIndex;
+import de.apnmt.appointment.service.booking.EmployeeLocks;
+import de.apnmt.appointment.web.rest.errors.BookingErrors;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+
+/**
+ * Aspect around the create and update endpoints of the appointment REST controller.
+ * <p>
+ * Requests whose slot overlaps an appointment in the {@link AppointmentIntervalIndex} are rejected before the
+ * appointment service queries the database. If the exclusion constraint on the appointment table is enabled, its
+ * violations are translated into the same "slot not available" response, whether they are raised by the flush inside
+ * the endpoint or by the commit of the advisory lock's transaction.
+ * <p>
+ * With {@link ApplicationProperties.LockMode#LOCAL} the check and the write of the appointment service run under the
+ * lock of the employee. The lock is released only after the endpoint returned, that is after the transaction has been
+ * committed and the index has been updated, so a concurrent booking of the same employee always sees the new slot.
+ * {@link ApplicationProperties.LockMode#CLUSTER} additionally takes the {@link AdvisoryLocks advisory lock} of the
+ * employee, which covers bookings arriving at other instances.
+ */
+@Aspect
+public class BookingAspect {
+
+    /**
+     * SQL state PostgreSQL reports for a violated exclusion constraint.
+     */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final Logger log = LoggerFactory.getLogger(BookingAspect.class);
+
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+
+    private final EmployeeLocks employeeLocks;
+
+    private final AdvisoryLocks advisoryLocks;
+
+    private final ApplicationProperties.Booking properties;
+
+    public BookingAspect(
+        AppointmentIntervalIndex appointmentIntervalIndex,
+        EmployeeLocks employeeLocks,
+        AdvisoryLocks advisoryLocks,
+        ApplicationProperties applicationProperties
+    ) {
+        this.appointmentIntervalIndex = appointmentIntervalIndex;
+        this.employeeLocks = employeeLocks;
+        this.advisoryLocks = advisoryLocks;
+        this.properties = applicationProperties.getBooking();
+    }
+
+    /**
+     * Pointcut that matches all endpoints of the appointment REST controller.
+     */
+    @Pointcut("execution(* de.apnmt.appointment.common.web.rest.AppointmentResource.*(..))")
+    public void appointmentResourcePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that checks the requested slot of every endpoint receiving an {@link AppointmentDTO}.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable if the slot is not available or the endpoint fails.
+     */
+    @Around("appointmentResourcePointcut()")
+    public Object checkSlot(ProceedingJoinPoint joinPoint) throws Throwable {
+        AppointmentDTO appointmentDTO = findAppointment(joinPoint.getArgs());
+        if (appointmentDTO == null || !isComplete(appointmentDTO)) {
+            return joinPoint.proceed();
+        }
+        // The advisory lock's transaction commits outside of book(), so a violation raised on commit is translated here
+        try {
+            return this.bookLocked(joinPoint, appointmentDTO);
+        } catch (RuntimeException e) {
+            if (this.properties.isExclusionConstraint() && isExclusionViolation(e)) {
+                this.log.debug("Slot {} - {} of employee {} was taken concurrently", appointmentDTO.getStartAt(), appointmentDTO.getEndAt(), appointmentDTO.getEmployeeId());
+                throw BookingErrors.slotNotAvailable();
+            }
+            throw e;
+        }
+    }
+
+    private Object bookLocked(ProceedingJoinPoint joinPoint, AppointmentDTO appointmentDTO) throws Throwable {
+        Long employeeId = appointmentDTO.getEmployeeId();
+        switch (this.properties.getLockMode()) {
+            case LOCAL:
+                return this.employeeLocks.runLocked(employeeId, () -> this.book(joinPoint, appointmentDTO));
+            case CLUSTER:
+                // The local lock keeps waiting bookings of this instance from holding database connections
+                return this.employeeLocks.runLocked(employeeId, () -> this.advisoryLocks.runLocked(employeeId, () -> this.book(joinPoint, appointmentDTO)));
+            default:
+                return this.book(joinPoint, appointmentDTO);
+        }
+    }
+
+    private Object book(ProceedingJoinPoint joinPoint, AppointmentDTO appointmentDTO) throws Throwable {
+        if (this.properties.isIntervalIndex() && this.appointmentIntervalIndex.overlaps(
+            appointmentDTO.getOrganizationId(),
+            appointmentDTO.getEmployeeId(),
+            appointmentDTO.getStartAt(),
+            appointmentDTO.getEndAt(),
+            appointmentDTO.getId()
+        )) {
+            this.log.debug("Slot {} - {} of employee {} is not available", appointmentDTO.getStartAt(), appointmentDTO.getEndAt(), appointmentDTO.getEmployeeId());
+            throw BookingErrors.slotNotAvailable();
+        }
+        return joinPoint.proceed();
+    }
+
+    private static boolean isExclusionViolation(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static AppointmentDTO findAppointment(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof AppointmentDTO) {
+                return (AppointmentDTO) arg;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isComplete(AppointmentDTO appointmentDTO) {
+        return (
+            appointmentDTO.getOrganizationId() != null &&
+                appointmentDTO.getEmployeeId() != null &&
+                appointmentDTO.getStartAt() != null &&
+                appointmentDTO.getEndAt() != null
+        );
+    }
+}
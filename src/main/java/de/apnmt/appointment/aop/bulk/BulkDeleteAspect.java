@@ -0,0 +1,67 @@
+package de.apnmt.appointment.aop.bulk;
+
+import de.apnmt.appointment.common.web.rest.AppointmentResource;
+import de.apnmt.appointment.common.web.rest.CustomerResource;
+import de.apnmt.appointment.common.web.rest.ServiceResource;
+import de.apnmt.appointment.service.BulkDeleteService;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.web.bind.annotation.DeleteMapping;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Aspect running the delete-all endpoints of the appointment, service and customer REST controllers set-based.
+ * <p>
+ * Before such an endpoint runs, the {@link BulkDeleteService} removes all rows in chunks and publishes their events in
+ * batches. The endpoint itself then finds an empty table and only builds its usual response.
+ */
+@Aspect
+public class BulkDeleteAspect {
+
+    private final BulkDeleteService bulkDeleteService;
+
+    public BulkDeleteAspect(BulkDeleteService bulkDeleteService) {
+        this.bulkDeleteService = bulkDeleteService;
+    }
+
+    /**
+     * Pointcut that matches all endpoints of the appointment, service and customer REST controllers.
+     */
+    @Pointcut(
+        "within(de.apnmt.appointment.common.web.rest.AppointmentResource) || " +
+            "within(de.apnmt.appointment.common.web.rest.ServiceResource) || " +
+            "within(de.apnmt.appointment.common.web.rest.CustomerResource)"
+    )
+    public void resourcePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that deletes all rows set-based before a delete-all endpoint runs.
+     *
+     * @param joinPoint     join point for advice.
+     * @param deleteMapping the mapping of the endpoint.
+     */
+    @Before(value = "resourcePointcut() && @annotation(deleteMapping)", argNames = "joinPoint,deleteMapping")
+    public void deleteAll(JoinPoint joinPoint, DeleteMapping deleteMapping) {
+        if (joinPoint.getArgs().length > 0) {
+            return;
+        }
+        Class<?> resource = joinPoint.getSignature().getDeclaringType();
+        if (AppointmentResource.class.equals(resource) && maps(deleteMapping, "/appointments")) {
+            this.bulkDeleteService.deleteAppointments(null);
+        } else if (ServiceResource.class.equals(resource) && maps(deleteMapping, "/services")) {
+            this.bulkDeleteService.deleteServices(null);
+        } else if (CustomerResource.class.equals(resource) && maps(deleteMapping, "/customers")) {
+            this.bulkDeleteService.deleteCustomers(null);
+        }
+    }
+
+    private static boolean maps(DeleteMapping deleteMapping, String path) {
+        return Stream.concat(Arrays.stream(deleteMapping.value()), Arrays.stream(deleteMapping.path())).anyMatch(path::equals);
+    }
+}
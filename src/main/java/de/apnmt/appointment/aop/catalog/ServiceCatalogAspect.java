@@ -0,0 +1,103 @@
+package de.apnmt.appointment.aop.catalog;
+
+import de.apnmt.appointment.service.catalog.ServiceCatalogCache;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aspect serving the read endpoints of the service REST controller from the {@link ServiceCatalogCache}.
+ * <p>
+ * Only the service list of an organization and the lookup of a service by id are cached. Requests running inside a
+ * transaction bypass the cache, as they might see changes that are not committed yet.
+ */
+@Aspect
+public class ServiceCatalogAspect {
+
+    private static final String ORGANIZATION_PATH = "/services/organization/{organizationId}";
+
+    private static final String SERVICE_PATH = "/services/{id}";
+
+    private static final String SERVICES_PATH = "/services";
+
+    private final ServiceCatalogCache serviceCatalogCache;
+
+    public ServiceCatalogAspect(ServiceCatalogCache serviceCatalogCache) {
+        this.serviceCatalogCache = serviceCatalogCache;
+    }
+
+    /**
+     * Pointcut that matches all endpoints of the service REST controller.
+     */
+    @Pointcut("within(de.apnmt.appointment.common.web.rest.ServiceResource)")
+    public void serviceResourcePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that answers the cached read endpoints from the cache.
+     *
+     * @param joinPoint  join point for advice.
+     * @param getMapping the mapping of the endpoint.
+     * @return result.
+     * @throws Throwable if the endpoint fails.
+     */
+    @Around(value = "serviceResourcePointcut() && @annotation(getMapping)", argNames = "joinPoint,getMapping")
+    public Object cacheRead(ProceedingJoinPoint joinPoint, GetMapping getMapping) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        if (
+            TransactionSynchronizationManager.isActualTransactionActive() ||
+                !ResponseEntity.class.equals(((MethodSignature) joinPoint.getSignature()).getReturnType()) ||
+                args.length == 0 ||
+                !(args[0] instanceof Long)
+        ) {
+            return joinPoint.proceed();
+        }
+        List<String> paths = paths(getMapping.value(), getMapping.path());
+        if (paths.contains(ORGANIZATION_PATH) && Arrays.stream(args).allMatch(ServiceCatalogAspect::isKey)) {
+            List<Object> arguments = Arrays.asList(Arrays.copyOfRange(args, 1, args.length));
+            return this.serviceCatalogCache.getOrganization((Long) args[0], arguments, () -> (ResponseEntity<?>) joinPoint.proceed());
+        }
+        if (paths.contains(SERVICE_PATH) && args.length == 1) {
+            return this.serviceCatalogCache.getService((Long) args[0], () -> (ResponseEntity<?>) joinPoint.proceed());
+        }
+        return joinPoint.proceed();
+    }
+
+    /**
+     * Advice that clears the cache after all services have been deleted.
+     *
+     * @param deleteMapping the mapping of the endpoint.
+     */
+    @AfterReturning(value = "serviceResourcePointcut() && @annotation(deleteMapping)", argNames = "deleteMapping")
+    public void evictAfterDeleteAll(DeleteMapping deleteMapping) {
+        if (paths(deleteMapping.value(), deleteMapping.path()).contains(SERVICES_PATH)) {
+            this.serviceCatalogCache.evictAll();
+        }
+    }
+
+    /**
+     * Only arguments with value semantics may become part of a cache key, e.g. the requested page.
+     */
+    private static boolean isKey(Object arg) {
+        return arg == null || arg instanceof Pageable || arg instanceof Number || arg instanceof CharSequence || arg instanceof Boolean || arg instanceof Enum;
+    }
+
+    private static List<String> paths(String[] value, String[] path) {
+        List<String> paths = new ArrayList<>(Arrays.asList(value));
+        paths.addAll(Arrays.asList(path));
+        return paths;
+    }
+}
@@ -0,0 +1,100 @@
+package de.apnmt.appointment.aop.range;
+
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import de.apnmt.appointment.repository.AppointmentRow;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aspect answering the range reads of the appointment REST controller from {@link AppointmentRow} projections.
+ * <p>
+ * The endpoints of the organization and of an employee return the appointments lying within the range, ordered by
+ * start and id. They are read without loading entities into the persistence context, so neither dirty checking
+ * snapshots nor the customer and service are loaded, which the DTOs only reference by id. Runs innermost, so other
+ * advices, e.g. adding the archived appointments, apply to the projected result.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AppointmentRangeAspect {
+
+    private static final String ORGANIZATION_PATH = "/appointments/organization/{organizationId}";
+
+    private static final String EMPLOYEE_PATH = "/appointments/organization/{organizationId}/employee/{employeeId}";
+
+    private final AppointmentRangeRepository appointmentRangeRepository;
+
+    public AppointmentRangeAspect(AppointmentRangeRepository appointmentRangeRepository) {
+        this.appointmentRangeRepository = appointmentRangeRepository;
+    }
+
+    /**
+     * Pointcut that matches all endpoints of the appointment REST controller.
+     */
+    @Pointcut("within(de.apnmt.appointment.common.web.rest.AppointmentResource)")
+    public void appointmentResourcePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that answers the range reads from projections.
+     *
+     * @param joinPoint  join point for advice.
+     * @param getMapping the mapping of the endpoint.
+     * @return result.
+     * @throws Throwable if the endpoint fails.
+     */
+    @Around(value = "appointmentResourcePointcut() && @annotation(getMapping)", argNames = "joinPoint,getMapping")
+    public Object readRows(ProceedingJoinPoint joinPoint, GetMapping getMapping) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        List<Long> ids = arguments(args, Long.class);
+        List<LocalDateTime> range = arguments(args, LocalDateTime.class);
+        if (!ResponseEntity.class.equals(((MethodSignature) joinPoint.getSignature()).getReturnType()) || range.size() != 2) {
+            return joinPoint.proceed();
+        }
+        List<String> paths = paths(getMapping.value(), getMapping.path());
+        if (paths.contains(ORGANIZATION_PATH) && ids.size() == 1) {
+            return toResponse(this.appointmentRangeRepository.findRowsWithin(ids.get(0), range.get(0), range.get(1)));
+        }
+        if (paths.contains(EMPLOYEE_PATH) && ids.size() == 2) {
+            return toResponse(this.appointmentRangeRepository.findRowsWithin(ids.get(0), ids.get(1), range.get(0), range.get(1)));
+        }
+        return joinPoint.proceed();
+    }
+
+    private static ResponseEntity<List<AppointmentDTO>> toResponse(List<AppointmentRow> rows) {
+        List<AppointmentDTO> appointments = new ArrayList<>(rows.size());
+        for (AppointmentRow row : rows) {
+            appointments.add(row.toDto());
+        }
+        return ResponseEntity.ok().body(appointments);
+    }
+
+    private static <T> List<T> arguments(Object[] args, Class<T> type) {
+        List<T> arguments = new ArrayList<>();
+        for (Object arg : args) {
+            if (type.isInstance(arg)) {
+                arguments.add(type.cast(arg));
+            }
+        }
+        return arguments;
+    }
+
+    private static List<String> paths(String[] value, String[] path) {
+        List<String> paths = new ArrayList<>(Arrays.asList(value));
+        paths.addAll(Arrays.asList(path));
+        return paths;
+    }
+}
@@ -0,0 +1,41 @@
+package de.apnmt.appointment.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executor running at most a fixed number of tasks of its delegate at the same time.
+ * <p>
+ * Every task is handed to the delegate right away and waits for a permit on its own thread, which is cheap for a
+ * virtual thread. Tasks get their permits in submission order.
+ */
+public class BoundedExecutor implements Executor {
+
+    private final Executor delegate;
+
+    private final Semaphore permits;
+
+    public BoundedExecutor(Executor delegate, int permits) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(Math.max(1, permits), true);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        this.delegate.execute(() -> {
+            this.permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                this.permits.release();
+            }
+        });
+    }
+
+    /**
+     * @return the number of tasks that may start right away.
+     */
+    public int availablePermits() {
+        return this.permits.availablePermits();
+    }
+}
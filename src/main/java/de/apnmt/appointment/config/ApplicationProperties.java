@@ -1,7 +1,10 @@
 package de.apnmt.appointment.config;
 
+import de.apnmt.appointment.kafka.EventFormat;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * Properties specific to Appointmentservice.
  * <p>
@@ -9,4 +12,604 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Booking booking = new Booking();
+
+    private final Kafka kafka = new Kafka();
+
+    private final Outbox outbox = new Outbox();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Partitioning partitioning = new Partitioning();
+
+    private final Archive archive = new Archive();
+
+    private final Replica replica = new Replica();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final ReactiveRead reactiveRead = new ReactiveRead();
+
+    public Booking getBooking() {
+        return this.booking;
+    }
+
+    public Kafka getKafka() {
+        return this.kafka;
+    }
+
+    public Outbox getOutbox() {
+        return this.outbox;
+    }
+
+    public Bulk getBulk() {
+        return this.bulk;
+    }
+
+    public Partitioning getPartitioning() {
+        return this.partitioning;
+    }
+
+    public Archive getArchive() {
+        return this.archive;
+    }
+
+    public Replica getReplica() {
+        return this.replica;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    public ReactiveRead getReactiveRead() {
+        return this.reactiveRead;
+    }
+
+    public static class Booking {
+
+        /**
+         * Reject overlapping appointments from the in-memory interval index before the database is queried.
+         */
+        private boolean intervalIndex = true;
+
+        /**
+         * Time after which the intervals of an employee are reloaded from the database.
+         */
+        private Duration intervalIndexTtl = Duration.ofMinutes(5);
+
+        /**
+         * Maximum number of appointments held by the interval index.
+         */
+        private long intervalIndexMaxSize = 100000;
+
+        /**
+         * Let PostgreSQL reject overlapping appointments of an employee with a GiST exclusion constraint.
+         */
+        private boolean exclusionConstraint = false;
+
+        /**
+         * How concurrent bookings of the same employee are serialized.
+         */
+        private LockMode lockMode = LockMode.LOCAL;
+
+        /**
+         * Number of appointments of a bulk import checked and inserted per transaction.
+         */
+        private int importChunkSize = 1000;
+
+        public boolean isIntervalIndex() {
+            return this.intervalIndex;
+        }
+
+        public void setIntervalIndex(boolean intervalIndex) {
+            this.intervalIndex = intervalIndex;
+        }
+
+        public Duration getIntervalIndexTtl() {
+            return this.intervalIndexTtl;
+        }
+
+        public void setIntervalIndexTtl(Duration intervalIndexTtl) {
+            this.intervalIndexTtl = intervalIndexTtl;
+        }
+
+        public long getIntervalIndexMaxSize() {
+            return this.intervalIndexMaxSize;
+        }
+
+        public void setIntervalIndexMaxSize(long intervalIndexMaxSize) {
+            this.intervalIndexMaxSize = intervalIndexMaxSize;
+        }
+
+        public boolean isExclusionConstraint() {
+            return this.exclusionConstraint;
+        }
+
+        public void setExclusionConstraint(boolean exclusionConstraint) {
+            this.exclusionConstraint = exclusionConstraint;
+        }
+
+        public LockMode getLockMode() {
+            return this.lockMode;
+        }
+
+        public void setLockMode(LockMode lockMode) {
+            this.lockMode = lockMode;
+        }
+
+        public int getImportChunkSize() {
+            return this.importChunkSize;
+        }
+
+        public void setImportChunkSize(int importChunkSize) {
+            this.importChunkSize = importChunkSize;
+        }
+    }
+
+    public static class Kafka {
+
+        /**
+         * Log every n-th published event at INFO, the others at DEBUG.
+         */
+        private int logSampleRate = 100;
+
+        /**
+         * Field of the event value used as record key, events with the same key keep their order.
+         */
+        private PartitionKey partitionKey = PartitionKey.ORGANIZATION;
+
+        /**
+         * Wire format of the published events, binary formats need consumers reading the content type header.
+         */
+        private EventFormat format = EventFormat.JSON;
+
+        /**
+         * Time events are held back to collapse them with later events of the same aggregate, zero to disable.
+         */
+        private Duration coalesceWindow = Duration.ZERO;
+
+        private final ChangeListener changeListener = new ChangeListener();
+
+        public int getLogSampleRate() {
+            return this.logSampleRate;
+        }
+
+        public void setLogSampleRate(int logSampleRate) {
+            this.logSampleRate = logSampleRate;
+        }
+
+        public PartitionKey getPartitionKey() {
+            return this.partitionKey;
+        }
+
+        public void setPartitionKey(PartitionKey partitionKey) {
+            this.partitionKey = partitionKey;
+        }
+
+        public EventFormat getFormat() {
+            return this.format;
+        }
+
+        public void setFormat(EventFormat format) {
+            this.format = format;
+        }
+
+        public Duration getCoalesceWindow() {
+            return this.coalesceWindow;
+        }
+
+        public void setCoalesceWindow(Duration coalesceWindow) {
+            this.coalesceWindow = coalesceWindow;
+        }
+
+        public ChangeListener getChangeListener() {
+            return this.changeListener;
+        }
+    }
+
+    public static class ChangeListener {
+
+        /**
+         * Consume the change topics to keep the local caches of this replica in sync with the other replicas.
+         */
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public enum PartitionKey {
+        /**
+         * Events are keyed by organization, all events of an organization keep their order.
+         */
+        ORGANIZATION,
+        /**
+         * Appointment events are keyed by employee, only the events of an employee keep their order. Events without an
+         * employee are keyed by organization.
+         */
+        EMPLOYEE
+    }
+
+    public static class Outbox {
+
+        /**
+         * Write events to the outbox table in the transaction of the change instead of sending them directly.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of events published and deleted per transaction.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Interval in which the outbox is polled for events of other instances or failed batches.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Time to wait for the broker to acknowledge a batch.
+         */
+        private Duration sendTimeout = Duration.ofSeconds(10);
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return this.batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getPollInterval() {
+            return this.pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public Duration getSendTimeout() {
+            return this.sendTimeout;
+        }
+
+        public void setSendTimeout(Duration sendTimeout) {
+            this.sendTimeout = sendTimeout;
+        }
+    }
+
+    public static class Bulk {
+
+        /**
+         * Number of rows removed per delete statement and transaction by the delete-all endpoints.
+         */
+        private int deleteChunkSize = 1000;
+
+        public int getDeleteChunkSize() {
+            return this.deleteChunkSize;
+        }
+
+        public void setDeleteChunkSize(int deleteChunkSize) {
+            this.deleteChunkSize = deleteChunkSize;
+        }
+    }
+
+    public static class Partitioning {
+
+        /**
+         * Range-partition the appointment table by month of the start (PostgreSQL only).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of future months for which partitions are kept created.
+         */
+        private int monthsAhead = 3;
+
+        /**
+         * When future partitions are created.
+         */
+        private String cron = "0 0 3 * * *";
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMonthsAhead() {
+            return this.monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public String getCron() {
+            return this.cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+    }
+
+    public static class Archive {
+
+        /**
+         * Move appointments that ended before the retention window to the archive table.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How long appointments stay in the appointment table after they ended.
+         */
+        private Duration retention = Duration.ofDays(365);
+
+        /**
+         * Number of appointments moved per transaction.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Pause between two chunks, keeps the archival from saturating the database.
+         */
+        private Duration pause = Duration.ofMillis(100);
+
+        /**
+         * When appointments are archived.
+         */
+        private String cron = "0 30 2 * * *";
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRetention() {
+            return this.retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public int getChunkSize() {
+            return this.chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getPause() {
+            return this.pause;
+        }
+
+        public void setPause(Duration pause) {
+            this.pause = pause;
+        }
+
+        public String getCron() {
+            return this.cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+    }
+
+    public static class Replica {
+
+        /**
+         * Route read-only transactions to a replica of the database.
+         */
+        private boolean enabled = false;
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Maximum number of connections to the replica.
+         */
+        private int maximumPoolSize = 10;
+
+        /**
+         * Replication lag above which read-only transactions are sent to the primary.
+         */
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        /**
+         * Interval in which the replication lag is measured.
+         */
+        private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getUrl() {
+            return this.url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return this.username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return this.password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return this.maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public Duration getMaxLag() {
+            return this.maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getLagCheckInterval() {
+            return this.lagCheckInterval;
+        }
+
+        public void setLagCheckInterval(Duration lagCheckInterval) {
+            this.lagCheckInterval = lagCheckInterval;
+        }
+    }
+
+    public static class VirtualThreads {
+
+        /**
+         * Run the requests and the application task executor on virtual threads (JDK 21 or later).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of requests, and of tasks, running at the same time. 0 for the size of the Hikari pool.
+         */
+        private int maxConcurrency = 0;
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrency() {
+            return this.maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+
+    public static class ReactiveRead {
+
+        /**
+         * Serve the appointment range reads streamed with R2DBC.
+         */
+        private boolean enabled = false;
+
+        /**
+         * R2DBC URL of the database, e.g. r2dbc:postgresql://localhost:5432/appointmentservice.
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Maximum number of R2DBC connections.
+         */
+        private int maxPoolSize = 20;
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getUrl() {
+            return this.url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return this.username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return this.password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaxPoolSize() {
+            return this.maxPoolSize;
+        }
+
+        public void setMaxPoolSize(int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+    }
+
+    public enum LockMode {
+        /**
+         * Bookings are not serialized.
+         */
+        NONE,
+        /**
+         * Bookings of the same employee are serialized inside this instance.
+         */
+        LOCAL,
+        /**
+         * Bookings of the same employee are serialized across all instances with a PostgreSQL advisory lock.
+         */
+        CLUSTER
+    }
+}
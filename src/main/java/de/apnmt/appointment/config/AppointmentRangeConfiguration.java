@@ -0,0 +1,17 @@
+package de.apnmt.appointment.config;
+
+import de.apnmt.appointment.aop.range.AppointmentRangeAspect;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class AppointmentRangeConfiguration {
+
+    @Bean
+    public AppointmentRangeAspect appointmentRangeAspect(AppointmentRangeRepository appointmentRangeRepository) {
+        return new AppointmentRangeAspect(appointmentRangeRepository);
+    }
+}
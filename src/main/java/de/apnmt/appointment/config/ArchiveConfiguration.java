@@ -0,0 +1,17 @@
+package de.apnmt.appointment.config;
+
+import de.apnmt.appointment.aop.archive.AppointmentArchiveAspect;
+import de.apnmt.appointment.service.archive.AppointmentArchiveService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class ArchiveConfiguration {
+
+    @Bean
+    public AppointmentArchiveAspect appointmentArchiveAspect(AppointmentArchiveService appointmentArchiveService) {
+        return new AppointmentArchiveAspect(appointmentArchiveService);
+    }
+}
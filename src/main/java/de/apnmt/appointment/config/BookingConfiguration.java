@@ -0,0 +1,24 @@
+package de.apnmt.appointment.config;
+
+import de.apnmt.appointment.aop.booking.BookingAspect;
+import de.apnmt.appointment.service.booking.AdvisoryLocks;
+import de.apnmt.appointment.service.booking.AppointmentIntervalIndex;
+import de.apnmt.appointment.service.booking.EmployeeLocks;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class BookingConfiguration {
+
+    @Bean
+    public BookingAspect bookingAspect(
+        AppointmentIntervalIndex appointmentIntervalIndex,
+        EmployeeLocks employeeLocks,
+        AdvisoryLocks advisoryLocks,
+        ApplicationProperties applicationProperties
+    ) {
+        return new BookingAspect(appointmentIntervalIndex, employeeLocks, advisoryLocks, applicationProperties);
+    }
+}
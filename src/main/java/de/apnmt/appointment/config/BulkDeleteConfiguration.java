@@ -0,0 +1,17 @@
+package de.apnmt.appointment.config;
+
+import de.apnmt.appointment.aop.bulk.BulkDeleteAspect;
+import de.apnmt.appointment.service.BulkDeleteService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class BulkDeleteConfiguration {
+
+    @Bean
+    public BulkDeleteAspect bulkDeleteAspect(BulkDeleteService bulkDeleteService) {
+        return new BulkDeleteAspect(bulkDeleteService);
+    }
+}
@@ -15,8 +15,8 @@ import tech.jhipster.config.h2.H2ConfigurationHelper;
 import java.sql.SQLException;
 
 @Configuration
-@EnableJpaRepositories("de.apnmt.appointment.common.repository")
-@EntityScan("de.apnmt.appointment.common.domain")
+@EnableJpaRepositories({"de.apnmt.appointment.common.repository", "de.apnmt.appointment.repository"})
+@EntityScan({"de.apnmt.appointment.common.domain", "de.apnmt.appointment.domain"})
 @EnableTransactionManagement
 public class DatabaseConfiguration {
 
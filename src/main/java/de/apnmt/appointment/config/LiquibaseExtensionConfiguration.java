@@ -0,0 +1,101 @@
+package de.apnmt.appointment.config;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import tech.jhipster.config.JHipsterConstants;
+import tech.jhipster.config.liquibase.SpringLiquibaseUtil;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the changelog of the tables and constraints that belong to this service on top of the schema created by the
+ * changelog of the appointment service.
+ * <p>
+ * Optional changesets are guarded by a Liquibase context that is only added when the matching feature is enabled in
+ * the {@link ApplicationProperties}. The exclusion constraint and the partitioning of the appointment table exclude each
+ * other: the partitioning drops the constraint with the old table, and PostgreSQL cannot enforce it across partitions.
+ */
+@Configuration
+public class LiquibaseExtensionConfiguration {
+
+    public static final String CHANGE_LOG = "classpath:config/liquibase/extension/master.xml";
+
+    public static final String CONTEXT_BOOKING_EXCLUSION = "booking-exclusion";
+
+    public static final String CONTEXT_APPOINTMENT_PARTITIONING = "appointment-partitioning";
+
+    private final Logger log = LoggerFactory.getLogger(LiquibaseExtensionConfiguration.class);
+
+    private final Environment env;
+
+    public LiquibaseExtensionConfiguration(Environment env) {
+        this.env = env;
+    }
+
+    @Bean
+    @DependsOn("liquibase")
+    public SpringLiquibase liquibaseExtension(
+        @LiquibaseDataSource ObjectProvider<DataSource> liquibaseDataSource,
+        LiquibaseProperties liquibaseProperties,
+        ObjectProvider<DataSource> dataSource,
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        // The appointment tables must exist before the extension changelog runs, so this one is never started asynchronously
+        SpringLiquibase liquibase = SpringLiquibaseUtil.createSpringLiquibase(
+            liquibaseDataSource.getIfAvailable(),
+            liquibaseProperties,
+            dataSource.getIfUnique(),
+            dataSourceProperties
+        );
+        liquibase.setChangeLog(CHANGE_LOG);
+        liquibase.setContexts(contexts(liquibaseProperties, applicationProperties));
+        liquibase.setDefaultSchema(liquibaseProperties.getDefaultSchema());
+        liquibase.setLiquibaseSchema(liquibaseProperties.getLiquibaseSchema());
+        liquibase.setLiquibaseTablespace(liquibaseProperties.getLiquibaseTablespace());
+        liquibase.setDatabaseChangeLogLockTable(liquibaseProperties.getDatabaseChangeLogLockTable());
+        liquibase.setDatabaseChangeLogTable(liquibaseProperties.getDatabaseChangeLogTable());
+        liquibase.setDropFirst(false);
+        liquibase.setLabels(liquibaseProperties.getLabels());
+        liquibase.setChangeLogParameters(liquibaseProperties.getParameters());
+        if (this.env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_NO_LIQUIBASE))) {
+            liquibase.setShouldRun(false);
+        } else {
+            liquibase.setShouldRun(liquibaseProperties.isEnabled());
+            this.log.debug("Configuring Liquibase extension changelog with contexts {}", liquibase.getContexts());
+        }
+        return liquibase;
+    }
+
+    static String contexts(LiquibaseProperties liquibaseProperties, ApplicationProperties applicationProperties) {
+        if (applicationProperties.getBooking().isExclusionConstraint() && applicationProperties.getPartitioning().isEnabled()) {
+            throw new IllegalStateException(
+                "application.booking.exclusion-constraint and application.partitioning.enabled cannot be enabled together, " +
+                "the exclusion constraint cannot be enforced across the partitions of the appointment table"
+            );
+        }
+        List<String> contexts = new ArrayList<>();
+        if (liquibaseProperties.getContexts() != null) {
+            contexts.add(liquibaseProperties.getContexts());
+        }
+        if (applicationProperties.getBooking().isExclusionConstraint()) {
+            contexts.add(CONTEXT_BOOKING_EXCLUSION);
+        }
+        if (applicationProperties.getPartitioning().isEnabled()) {
+            contexts.add(CONTEXT_APPOINTMENT_PARTITIONING);
+        }
+        return String.join(",", contexts);
+    }
+}
@@ -0,0 +1,52 @@
+package de.apnmt.appointment.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Creates the R2DBC client of the reactive appointment reads.
+ * <p>
+ * The connection pool is owned by this configuration instead of being a bean, as a connection factory bean would make
+ * Spring Boot back off from creating the JDBC data source used by everything else.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.reactive-read", name = "enabled", havingValue = "true")
+public class ReactiveReadConfiguration implements DisposableBean {
+
+    public static final String POOL_NAME = "R2dbcReactiveRead";
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveReadDatabaseClient(ApplicationProperties applicationProperties) {
+        ApplicationProperties.ReactiveRead properties = applicationProperties.getReactiveRead();
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        this.connectionPool = new ConnectionPool(
+            ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name(POOL_NAME)
+                .maxSize(properties.getMaxPoolSize())
+                .build()
+        );
+        return DatabaseClient.create(this.connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (this.connectionPool != null) {
+            this.connectionPool.dispose();
+        }
+    }
+}
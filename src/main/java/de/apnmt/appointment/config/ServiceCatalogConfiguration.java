@@ -0,0 +1,17 @@
+package de.apnmt.appointment.config;
+
+import de.apnmt.appointment.aop.catalog.ServiceCatalogAspect;
+import de.apnmt.appointment.service.catalog.ServiceCatalogCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class ServiceCatalogConfiguration {
+
+    @Bean
+    public ServiceCatalogAspect serviceCatalogAspect(ServiceCatalogCache serviceCatalogCache) {
+        return new ServiceCatalogAspect(serviceCatalogCache);
+    }
+}
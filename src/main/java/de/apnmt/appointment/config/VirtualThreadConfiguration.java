@@ -0,0 +1,125 @@
+package de.apnmt.appointment.config;
+
+import de.apnmt.appointment.concurrent.BoundedExecutor;
+import de.apnmt.appointment.concurrent.VirtualThreads;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs the requests of the web server and the tasks of the application task executor on virtual threads.
+ * <p>
+ * Both replace a bounded platform thread pool whose threads spend most of their time blocked on JDBC and Kafka. As
+ * virtual threads are not pooled, the number of requests, and separately of tasks, running at the same time is capped
+ * by a semaphore sized to the Hikari pool; the others wait on their own virtual thread. Requests waiting for a task
+ * therefore never hold the permit the task needs.
+ */
+@Configuration
+@Conditional(VirtualThreadConfiguration.OnVirtualThreadsCondition.class)
+public class VirtualThreadConfiguration implements DisposableBean {
+
+    private static final int DEFAULT_HIKARI_POOL_SIZE = 10;
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    private final List<ExecutorService> executors = new ArrayList<>();
+
+    private final int maxConcurrency;
+
+    private final MeterRegistry meterRegistry;
+
+    public VirtualThreadConfiguration(ApplicationProperties applicationProperties, Environment env, MeterRegistry meterRegistry) {
+        int maxConcurrency = applicationProperties.getVirtualThreads().getMaxConcurrency();
+        if (maxConcurrency <= 0) {
+            maxConcurrency = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_HIKARI_POOL_SIZE);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.meterRegistry = meterRegistry;
+        this.log.info("Running requests and tasks on virtual threads, at most {} of each at the same time", maxConcurrency);
+    }
+
+    @Bean(name = { TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME })
+    public AsyncTaskExecutor applicationTaskExecutor(TaskExecutionProperties taskExecutionProperties) {
+        return new TaskExecutorAdapter(this.boundedExecutor("task", taskExecutionProperties.getThreadNamePrefix()));
+    }
+
+    @Override
+    public void destroy() {
+        this.executors.forEach(ExecutorService::shutdown);
+    }
+
+    BoundedExecutor boundedExecutor(String name, String threadNamePrefix) {
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor(threadNamePrefix);
+        this.executors.add(executor);
+        BoundedExecutor boundedExecutor = new BoundedExecutor(executor, this.maxConcurrency);
+        Gauge.builder("executor.virtual.permits.available", boundedExecutor, BoundedExecutor::availablePermits)
+            .description("Requests or tasks that may start on a virtual thread right away")
+            .tag("name", name)
+            .register(this.meterRegistry);
+        return boundedExecutor;
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+    static class TomcatVirtualThreadConfiguration {
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(VirtualThreadConfiguration virtualThreadConfiguration) {
+            BoundedExecutor executor = virtualThreadConfiguration.boundedExecutor("http", "http-virtual-");
+            return protocolHandler -> protocolHandler.setExecutor(executor);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "io.undertow.Undertow")
+    static class UndertowVirtualThreadConfiguration {
+
+        @Bean
+        public UndertowDeploymentInfoCustomizer virtualThreadDeploymentInfoCustomizer(VirtualThreadConfiguration virtualThreadConfiguration) {
+            BoundedExecutor executor = virtualThreadConfiguration.boundedExecutor("http", "http-virtual-");
+            return deploymentInfo -> deploymentInfo.setExecutor(executor);
+        }
+    }
+
+    /**
+     * Matches if virtual threads are enabled and supported by the running JDK.
+     */
+    static class OnVirtualThreadsCondition extends SpringBootCondition {
+
+        private static final Logger log = LoggerFactory.getLogger(OnVirtualThreadsCondition.class);
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (!context.getEnvironment().getProperty("application.virtual-threads.enabled", Boolean.class, false)) {
+                return ConditionOutcome.noMatch("Virtual threads are disabled");
+            }
+            if (!VirtualThreads.isSupported()) {
+                log.warn("Virtual threads are enabled but not supported by JDK {}, keeping the thread pools", Runtime.version());
+                return ConditionOutcome.noMatch("Virtual threads are not supported by JDK " + Runtime.version());
+            }
+            return ConditionOutcome.match("Virtual threads are enabled");
+        }
+    }
+}
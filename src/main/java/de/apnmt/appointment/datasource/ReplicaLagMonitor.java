@@ -0,0 +1,84 @@
+package de.apnmt.appointment.datasource;
+
+import de.apnmt.appointment.config.ApplicationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures how far a PostgreSQL replica lags behind the primary.
+ * <p>
+ * The lag is the time since the last replayed transaction, or zero if the replica has replayed everything it received,
+ * so an idle primary does not make the replica look stale. Having replayed everything only means something while the
+ * WAL receiver is streaming from the primary, a disconnected replica cannot be measured. Only superusers and members of
+ * {@code pg_read_all_stats} (or {@code pg_monitor}) see the status of the WAL receiver, so the replica user has to be
+ * granted one of them.
+ * <p>
+ * The replica counts as usable until the lag exceeds {@link ApplicationProperties.Replica#getMaxLag()}; it is unusable
+ * before the first measurement and while it cannot be queried or measured.
+ */
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+        "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL " +
+        "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE extract(epoch FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Duration maxLag;
+
+    private volatile double lagSeconds = Double.NaN;
+
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLag = applicationProperties.getReplica().getMaxLag();
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+            .description("Replication lag of the read replica, NaN if it cannot be measured")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return whether read-only transactions may be sent to the replica.
+     */
+    public boolean isReplicaUsable() {
+        return this.usable;
+    }
+
+    /**
+     * Measures the replication lag.
+     */
+    @Scheduled(fixedDelayString = "${application.replica.lag-check-interval:PT5S}")
+    public void check() {
+        try {
+            this.record(this.jdbcTemplate.queryForObject(LAG_QUERY, Double.class));
+        } catch (DataAccessException e) {
+            this.log.warn("Failed to measure the replica lag, using the primary: {}", e.getMessage());
+            this.record(null);
+        }
+    }
+
+    void record(Double lagSeconds) {
+        boolean wasUsable = this.usable;
+        this.lagSeconds = lagSeconds == null ? Double.NaN : lagSeconds;
+        this.usable = lagSeconds != null && lagSeconds * 1000 <= this.maxLag.toMillis();
+        if (wasUsable && !this.usable) {
+            this.log.warn("Replica lags {} seconds behind, sending read-only transactions to the primary", lagSeconds);
+        } else if (!wasUsable && this.usable) {
+            this.log.info("Replica caught up, sending read-only transactions to the replica");
+        }
+    }
+}
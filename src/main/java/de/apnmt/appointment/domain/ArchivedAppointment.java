@@ -0,0 +1,183 @@
+package de.apnmt.appointment.domain;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A past appointment moved out of the appointment table. Keeps the id of the appointment.
+ */
+@Entity
+@Immutable
+@Table(name = "appointment_archive")
+public class ArchivedAppointment implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "start_at")
+    private LocalDateTime startAt;
+
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "service_id")
+    private Long serviceId;
+
+    @NotNull
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ArchivedAppointment id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public LocalDateTime getStartAt() {
+        return this.startAt;
+    }
+
+    public void setStartAt(LocalDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public ArchivedAppointment startAt(LocalDateTime startAt) {
+        this.setStartAt(startAt);
+        return this;
+    }
+
+    public LocalDateTime getEndAt() {
+        return this.endAt;
+    }
+
+    public void setEndAt(LocalDateTime endAt) {
+        this.endAt = endAt;
+    }
+
+    public ArchivedAppointment endAt(LocalDateTime endAt) {
+        this.setEndAt(endAt);
+        return this;
+    }
+
+    public Long getOrganizationId() {
+        return this.organizationId;
+    }
+
+    public void setOrganizationId(Long organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public ArchivedAppointment organizationId(Long organizationId) {
+        this.setOrganizationId(organizationId);
+        return this;
+    }
+
+    public Long getEmployeeId() {
+        return this.employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public ArchivedAppointment employeeId(Long employeeId) {
+        this.setEmployeeId(employeeId);
+        return this;
+    }
+
+    public Long getCustomerId() {
+        return this.customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public ArchivedAppointment customerId(Long customerId) {
+        this.setCustomerId(customerId);
+        return this;
+    }
+
+    public Long getServiceId() {
+        return this.serviceId;
+    }
+
+    public void setServiceId(Long serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public ArchivedAppointment serviceId(Long serviceId) {
+        this.setServiceId(serviceId);
+        return this;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return this.archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    public ArchivedAppointment archivedAt(LocalDateTime archivedAt) {
+        this.setArchivedAt(archivedAt);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArchivedAppointment)) {
+            return false;
+        }
+        return this.id != null && this.id.equals(((ArchivedAppointment) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ArchivedAppointment{" +
+            "id=" + getId() +
+            ", startAt='" + getStartAt() + "'" +
+            ", endAt='" + getEndAt() + "'" +
+            ", organizationId=" + getOrganizationId() +
+            ", employeeId=" + getEmployeeId() +
+            ", customerId=" + getCustomerId() +
+            ", serviceId=" + getServiceId() +
+            ", archivedAt='" + getArchivedAt() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,145 @@
+package de.apnmt.appointment.domain;
+
+import org.hibernate.annotations.Type;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An event written in the transaction of the change it describes, waiting to be published to Kafka.
+ * <p>
+ * The ids are drawn one at a time from a sequence of their own, so they follow the order in which the events were
+ * written across all replicas.
+ */
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outboxEventSequenceGenerator")
+    @SequenceGenerator(name = "outboxEventSequenceGenerator", sequenceName = "outbox_event_sequence", allocationSize = 1)
+    private Long id;
+
+    @NotNull
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    @NotNull
+    @Column(name = "value_type", nullable = false)
+    private String valueType;
+
+    @Lob
+    @Type(type = "org.hibernate.type.TextType")
+    @NotNull
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public OutboxEvent id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public String getTopic() {
+        return this.topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public OutboxEvent topic(String topic) {
+        this.setTopic(topic);
+        return this;
+    }
+
+    public String getValueType() {
+        return this.valueType;
+    }
+
+    public void setValueType(String valueType) {
+        this.valueType = valueType;
+    }
+
+    public OutboxEvent valueType(String valueType) {
+        this.setValueType(valueType);
+        return this;
+    }
+
+    public String getPayload() {
+        return this.payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public OutboxEvent payload(String payload) {
+        this.setPayload(payload);
+        return this;
+    }
+
+    public Instant getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public OutboxEvent createdAt(Instant createdAt) {
+        this.setCreatedAt(createdAt);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OutboxEvent)) {
+            return false;
+        }
+        return this.id != null && this.id.equals(((OutboxEvent) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+            "id=" + getId() +
+            ", topic='" + getTopic() + "'" +
+            ", valueType='" + getValueType() + "'" +
+            ", payload='" + getPayload() + "'" +
+            ", createdAt='" + getCreatedAt() + "'" +
+            "}";
+    }
+}
@@ -1,28 +1,61 @@
 package de.apnmt.appointment.kafka;
 
+import de.apnmt.appointment.service.booking.AppointmentIntervalIndex;
+import de.apnmt.appointment.service.outbox.EventOutbox;
 import de.apnmt.common.event.ApnmtEvent;
 import de.apnmt.common.event.value.AppointmentEventDTO;
 import de.apnmt.common.sender.ApnmtEventSender;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
 
 @Repository
 public class AppointmentEventSender implements ApnmtEventSender<AppointmentEventDTO> {
 
-    private static final Logger log = LoggerFactory.getLogger(AppointmentEventSender.class);
+    private final EventOutbox eventOutbox;
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
 
-    public AppointmentEventSender(KafkaTemplate<String, Object> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public AppointmentEventSender(EventOutbox eventOutbox, AppointmentIntervalIndex appointmentIntervalIndex) {
+        this.eventOutbox = eventOutbox;
+        this.appointmentIntervalIndex = appointmentIntervalIndex;
     }
 
     @Override
     public void send(String topic, ApnmtEvent<AppointmentEventDTO> event) {
-        log.info("Send event {} to topic {}", event, topic);
-        this.kafkaTemplate.send(topic, event);
+        this.eventOutbox.publish(topic, event);
+        this.updateIndex(event);
+    }
+
+    /**
+     * Sends several events, e.g. of a bulk import, with a single transaction synchronization.
+     *
+     * @param topic  the topic.
+     * @param events the events in publishing order.
+     */
+    public void sendAll(String topic, List<ApnmtEvent<AppointmentEventDTO>> events) {
+        this.eventOutbox.publishAll(topic, events);
+        this.updateIndex(events);
+    }
+
+    private void updateIndex(ApnmtEvent<AppointmentEventDTO> event) {
+        this.updateIndex(List.of(event));
+    }
+
+    private void updateIndex(List<ApnmtEvent<AppointmentEventDTO>> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The index must not see changes that are rolled back afterwards
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(AppointmentEventSender.this.appointmentIntervalIndex::apply);
+                }
+            });
+        } else {
+            events.forEach(this.appointmentIntervalIndex::apply);
+        }
     }
 
 }
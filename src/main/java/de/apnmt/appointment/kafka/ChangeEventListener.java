@@ -0,0 +1,181 @@
+package de.apnmt.appointment.kafka;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.service.booking.AppointmentIntervalIndex;
+import de.apnmt.appointment.service.catalog.ServiceCatalogCache;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import de.apnmt.common.event.value.ServiceEventDTO;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.GroupIdNotFoundException;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps the local caches of every replica in sync with the changes made by the other replicas.
+ * <p>
+ * The listener joins a consumer group of its own per instance, named after the pod ({@code HOSTNAME}), so every
+ * replica receives every change event. The group is deleted when the instance shuts down; the group of an instance
+ * that did not shut down cleanly is removed by the broker once its offsets expire ({@code offsets.retention.minutes}).
+ * Events published by this instance are received as well; applying them again is harmless. Values are read as raw
+ * bytes and decoded in the {@link EventFormat} named by their content type header, JSON if there is none.
+ */
+@Component
+public class ChangeEventListener implements DisposableBean {
+
+    public static final String APPOINTMENT_LISTENER_ID = "appointmentChangeEventListener";
+
+    public static final String SERVICE_LISTENER_ID = "serviceChangeEventListener";
+
+    /**
+     * A switch of its own, {@code spring.kafka.consumer.auto-startup} is off in every configuration but the tests.
+     */
+    static final String AUTO_STARTUP = "${application.kafka.change-listener.enabled:true}";
+
+    private static final String VALUE_DESERIALIZER = "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer";
+
+    private static final String GROUP_ID = "#{__listener.groupId}";
+
+    private static final long DELETE_GROUP_TIMEOUT_SECONDS = 5;
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventListener.class);
+
+    private static final TypeReference<ApnmtEvent<AppointmentEventDTO>> APPOINTMENT_EVENT = new TypeReference<>() {
+    };
+
+    private static final TypeReference<ApnmtEvent<ServiceEventDTO>> SERVICE_EVENT = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<EventFormat, ObjectMapper> binaryMappers = new EnumMap<>(EventFormat.class);
+
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+
+    private final ServiceCatalogCache serviceCatalogCache;
+
+    private final KafkaProperties kafkaProperties;
+
+    private final boolean enabled;
+
+    private final String groupId;
+
+    public ChangeEventListener(
+        ObjectMapper objectMapper,
+        AppointmentIntervalIndex appointmentIntervalIndex,
+        ServiceCatalogCache serviceCatalogCache,
+        KafkaProperties kafkaProperties,
+        ApplicationProperties applicationProperties,
+        Environment environment
+    ) {
+        this.objectMapper = objectMapper;
+        this.appointmentIntervalIndex = appointmentIntervalIndex;
+        this.serviceCatalogCache = serviceCatalogCache;
+        this.kafkaProperties = kafkaProperties;
+        this.enabled = applicationProperties.getKafka().getChangeListener().isEnabled();
+        // Resolved once, both listeners and the deletion on shutdown must use the same group
+        this.groupId = kafkaProperties.getConsumer().getGroupId() + "-" + environment.getProperty("HOSTNAME", UUID.randomUUID().toString());
+        this.binaryMappers.put(EventFormat.SMILE, EventFormat.SMILE.objectMapper());
+        this.binaryMappers.put(EventFormat.CBOR, EventFormat.CBOR.objectMapper());
+    }
+
+    /**
+     * Get the consumer group of this instance.
+     *
+     * @return the id of the group.
+     */
+    public String getGroupId() {
+        return this.groupId;
+    }
+
+    @KafkaListener(
+        id = APPOINTMENT_LISTENER_ID,
+        idIsGroup = false,
+        topics = TopicConstants.APPOINTMENT_CHANGED_TOPIC,
+        groupId = GROUP_ID,
+        autoStartup = AUTO_STARTUP,
+        properties = VALUE_DESERIALIZER
+    )
+    public void receiveAppointmentEvent(ConsumerRecord<String, Object> message) {
+        try {
+            ApnmtEvent<AppointmentEventDTO> event = this.read(message, APPOINTMENT_EVENT);
+            log.debug("Apply event {} to the appointment index", event);
+            this.appointmentIntervalIndex.apply(event);
+        } catch (IOException e) {
+            log.error("Malformed message {} for topic {}, clearing the appointment index", message.value(), message.topic());
+            this.appointmentIntervalIndex.clear();
+        }
+    }
+
+    @KafkaListener(
+        id = SERVICE_LISTENER_ID,
+        idIsGroup = false,
+        topics = TopicConstants.SERVICE_CHANGED_TOPIC,
+        groupId = GROUP_ID,
+        autoStartup = AUTO_STARTUP,
+        properties = VALUE_DESERIALIZER
+    )
+    public void receiveServiceEvent(ConsumerRecord<String, Object> message) {
+        try {
+            ApnmtEvent<ServiceEventDTO> event = this.read(message, SERVICE_EVENT);
+            log.debug("Evict service of event {} from the catalog", event);
+            this.serviceCatalogCache.evict(event.getValue());
+        } catch (IOException e) {
+            log.error("Malformed message {} for topic {}, clearing the service catalog", message.value(), message.topic());
+            this.serviceCatalogCache.evictAll();
+        }
+    }
+
+    /**
+     * Deletes the consumer group of this instance, so that restarts do not leave groups behind. The listener containers
+     * are stopped before the beans are destroyed, so the group is empty by now.
+     */
+    @Override
+    public void destroy() {
+        if (!this.enabled) {
+            return;
+        }
+        try (AdminClient adminClient = AdminClient.create(this.kafkaProperties.buildAdminProperties())) {
+            adminClient.deleteConsumerGroups(List.of(this.groupId)).all().get(DELETE_GROUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            log.info("Deleted consumer group {}", this.groupId);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof GroupIdNotFoundException) {
+                log.debug("Consumer group {} does not exist", this.groupId);
+            } else {
+                log.warn("Could not delete consumer group {}, it is removed once its offsets expire: {}", this.groupId, e.getCause().getMessage());
+            }
+        } catch (TimeoutException e) {
+            log.warn("Timed out deleting consumer group {}, it is removed once its offsets expire", this.groupId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> T read(ConsumerRecord<String, Object> message, TypeReference<T> type) throws IOException {
+        if (!(message.value() instanceof byte[])) {
+            return this.objectMapper.readValue(String.valueOf(message.value()), type);
+        }
+        Header contentType = message.headers().lastHeader(EventFormat.CONTENT_TYPE_HEADER);
+        EventFormat format = EventFormat.of(contentType == null ? null : contentType.value()).orElse(EventFormat.JSON);
+        return this.binaryMappers.getOrDefault(format, this.objectMapper).readValue((byte[]) message.value(), type);
+    }
+}
@@ -0,0 +1,126 @@
+package de.apnmt.appointment.kafka;
+
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import de.apnmt.common.event.value.ServiceEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collapses events of the same aggregate published within a short window into the latest one.
+ * <p>
+ * Rescheduling an appointment by drag and drop changes it several times per second, every change raising an event
+ * with the full state of the appointment. With a {@link ApplicationProperties.Kafka#getCoalesceWindow() coalesce
+ * window} the events are held back for that time, and an event replaces any pending event of the same aggregate, i.e.
+ * the same topic and id. Replaced events are counted in {@code kafka.publish.coalesced}. Without a window, or for
+ * events without an id, events are published directly.
+ */
+@Component
+public class EventCoalescer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EventCoalescer.class);
+
+    private final EventPublisher eventPublisher;
+
+    private final TaskScheduler taskScheduler;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration window;
+
+    private Map<List<Object>, ApnmtEvent<?>> pending = new LinkedHashMap<>();
+
+    private boolean scheduled;
+
+    public EventCoalescer(
+        EventPublisher eventPublisher,
+        TaskScheduler taskScheduler,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.meterRegistry = meterRegistry;
+        this.window = applicationProperties.getKafka().getCoalesceWindow();
+    }
+
+    /**
+     * Publishes an event to a topic once the coalesce window has passed, unless it is replaced by a later event of the
+     * same aggregate until then.
+     *
+     * @param topic the topic.
+     * @param event the event.
+     */
+    public void publish(String topic, ApnmtEvent<?> event) {
+        List<Object> aggregate = aggregate(topic, event);
+        if (this.window.isZero() || this.window.isNegative() || aggregate == null) {
+            this.eventPublisher.publish(topic, event);
+            return;
+        }
+        synchronized (this) {
+            // Re-inserting moves the aggregate behind the events published in between
+            if (this.pending.remove(aggregate) != null) {
+                this.coalesced(topic).increment();
+            }
+            this.pending.put(aggregate, event);
+            if (!this.scheduled) {
+                this.scheduled = true;
+                this.taskScheduler.schedule(this::flush, Instant.now().plus(this.window));
+            }
+        }
+    }
+
+    /**
+     * Publishes all pending events.
+     */
+    public void flush() {
+        Map<List<Object>, ApnmtEvent<?>> events;
+        synchronized (this) {
+            events = this.pending;
+            this.pending = new LinkedHashMap<>();
+            this.scheduled = false;
+        }
+        log.debug("Publish {} coalesced events", events.size());
+        events.forEach((aggregate, event) -> this.eventPublisher.publish((String) aggregate.get(0), event));
+    }
+
+    @Override
+    public void destroy() {
+        this.flush();
+    }
+
+    /**
+     * @param topic the topic of the event.
+     * @param event the event.
+     * @return the aggregate the event belongs to, {@code null} if the event has no id.
+     */
+    public static List<Object> aggregate(String topic, ApnmtEvent<?> event) {
+        Object value = event.getValue();
+        Long id = null;
+        if (value instanceof AppointmentEventDTO) {
+            id = ((AppointmentEventDTO) value).getId();
+        } else if (value instanceof ServiceEventDTO) {
+            id = ((ServiceEventDTO) value).getId();
+        }
+        return id == null ? null : List.of(topic, id);
+    }
+
+    private Counter coalesced(String topic) {
+        return Counter.builder("kafka.publish.coalesced")
+            .description("Events replaced by a later event of the same aggregate before being published")
+            .tag("topic", topic)
+            .register(this.meterRegistry);
+    }
+}
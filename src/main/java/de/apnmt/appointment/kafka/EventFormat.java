@@ -0,0 +1,75 @@
+package de.apnmt.appointment.kafka;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Wire formats of the published events.
+ * <p>
+ * All formats encode the same Jackson data model, so an event can be read with any of them. Binary formats are marked
+ * with their content type in the {@link #CONTENT_TYPE_HEADER} header of the record.
+ */
+public enum EventFormat {
+    JSON("application/json") {
+        @Override
+        JsonFactory factory() {
+            return new JsonFactory();
+        }
+    },
+    SMILE("application/x-jackson-smile") {
+        @Override
+        JsonFactory factory() {
+            return new SmileFactory();
+        }
+    },
+    CBOR("application/cbor") {
+        @Override
+        JsonFactory factory() {
+            return new CBORFactory();
+        }
+    };
+
+    public static final String CONTENT_TYPE_HEADER = "contentType";
+
+    private final String contentType;
+
+    EventFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    abstract JsonFactory factory();
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public byte[] getContentTypeHeader() {
+        return this.contentType.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return a mapper writing and reading events in this format.
+     */
+    public ObjectMapper objectMapper() {
+        return new ObjectMapper(this.factory()).findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * @param contentType the content type of a record, may be {@code null}.
+     * @return the format with the content type.
+     */
+    public static Optional<EventFormat> of(byte[] contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        String value = new String(contentType, StandardCharsets.UTF_8);
+        return Arrays.stream(values()).filter(format -> format.contentType.equals(value)).findFirst();
+    }
+}
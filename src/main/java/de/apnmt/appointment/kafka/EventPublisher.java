@@ -0,0 +1,156 @@
+package de.apnmt.appointment.kafka;
+
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import de.apnmt.common.event.value.ServiceEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes events to Kafka without waiting for the broker.
+ * <p>
+ * The outcome of every send is reported by a callback: the latency until the broker acknowledged or rejected the
+ * record is recorded in the {@code kafka.publish} timer, failures are counted in {@code kafka.publish.failures} and
+ * logged. Only every n-th event is logged at INFO, see {@link ApplicationProperties.Kafka#getLogSampleRate()}.
+ * <p>
+ * Records are keyed by the organization of the event, or by its employee, see
+ * {@link ApplicationProperties.Kafka#getPartitionKey()}. Events with the same key land on the same partition, so
+ * consumers see them in publishing order.
+ * <p>
+ * Events are sent as JSON with the shared {@link KafkaTemplate}. With a binary {@link ApplicationProperties.Kafka#getFormat()
+ * format} they are sent by a producer of their own using the {@link EventSerializer}.
+ */
+@Component
+public class EventPublisher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPublisher.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int logSampleRate;
+
+    private final ApplicationProperties.PartitionKey partitionKey;
+
+    private final AtomicLong published = new AtomicLong();
+
+    private final DefaultKafkaProducerFactory<String, Object> producerFactory;
+
+    public EventPublisher(
+        KafkaTemplate<String, Object> kafkaTemplate,
+        KafkaProperties kafkaProperties,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        EventFormat format = applicationProperties.getKafka().getFormat();
+        if (format == EventFormat.JSON) {
+            this.producerFactory = null;
+            this.kafkaTemplate = kafkaTemplate;
+        } else {
+            log.info("Publishing events as {}", format.getContentType());
+            this.producerFactory = new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties(), new StringSerializer(), new EventSerializer(format));
+            this.kafkaTemplate = new KafkaTemplate<>(this.producerFactory);
+        }
+        this.meterRegistry = meterRegistry;
+        this.logSampleRate = Math.max(1, applicationProperties.getKafka().getLogSampleRate());
+        this.partitionKey = applicationProperties.getKafka().getPartitionKey();
+    }
+
+    @Override
+    public void destroy() {
+        if (this.producerFactory != null) {
+            this.producerFactory.destroy();
+        }
+    }
+
+    /**
+     * Publishes an event to a topic.
+     *
+     * @param topic the topic.
+     * @param event the event.
+     */
+    public void publish(String topic, ApnmtEvent<?> event) {
+        this.send(topic, event);
+    }
+
+    /**
+     * Publishes an event to a topic.
+     *
+     * @param topic the topic.
+     * @param event the event.
+     * @return the result of the send, completed once the broker acknowledged or rejected the event.
+     */
+    public ListenableFuture<SendResult<String, Object>> send(String topic, ApnmtEvent<?> event) {
+        long count = this.published.incrementAndGet();
+        if (count % this.logSampleRate == 0) {
+            log.info("Send event {} to topic {} ({} events sent)", event, topic, count);
+        } else {
+            log.debug("Send event {} to topic {}", event, topic);
+        }
+        long start = System.nanoTime();
+        ListenableFuture<SendResult<String, Object>> future = this.kafkaTemplate.send(topic, this.key(event), event);
+        future.addCallback(
+            result -> this.timer(topic, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS),
+            e -> {
+                this.timer(topic, "failure").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                this.failures(topic).increment();
+                log.error("Failed to send event {} to topic {}", event, topic, e);
+            }
+        );
+        return future;
+    }
+
+    /**
+     * @param event the event.
+     * @return the record key of the event, {@code null} if the event has no owner.
+     */
+    String key(ApnmtEvent<?> event) {
+        Object value = event.getValue();
+        if (value instanceof AppointmentEventDTO) {
+            AppointmentEventDTO appointment = (AppointmentEventDTO) value;
+            if (this.partitionKey == ApplicationProperties.PartitionKey.EMPLOYEE && appointment.getEmployeeId() != null) {
+                return appointment.getEmployeeId().toString();
+            }
+            return toKey(appointment.getOrganizationId());
+        }
+        if (value instanceof ServiceEventDTO) {
+            return toKey(((ServiceEventDTO) value).getOrganizationId());
+        }
+        return null;
+    }
+
+    private static String toKey(Long organizationId) {
+        return organizationId == null ? null : organizationId.toString();
+    }
+
+    private Timer timer(String topic, String result) {
+        return Timer.builder("kafka.publish")
+            .description("Latency until a published event was acknowledged or rejected by the broker")
+            .tag("topic", topic)
+            .tag("result", result)
+            .register(this.meterRegistry);
+    }
+
+    private Counter failures(String topic) {
+        return Counter.builder("kafka.publish.failures")
+            .description("Events that could not be published")
+            .tag("topic", topic)
+            .register(this.meterRegistry);
+    }
+}
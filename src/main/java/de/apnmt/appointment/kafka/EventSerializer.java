@@ -0,0 +1,41 @@
+package de.apnmt.appointment.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka serializer writing events in an {@link EventFormat} and marking the records with its content type.
+ */
+public class EventSerializer implements Serializer<Object> {
+
+    private final EventFormat format;
+
+    private final ObjectMapper objectMapper;
+
+    public EventSerializer(EventFormat format) {
+        this.format = format;
+        this.objectMapper = format.objectMapper();
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        headers.remove(EventFormat.CONTENT_TYPE_HEADER);
+        headers.add(EventFormat.CONTENT_TYPE_HEADER, this.format.getContentTypeHeader());
+        return this.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return this.objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Can't serialize data [" + data + "] for topic [" + topic + "]", e);
+        }
+    }
+}
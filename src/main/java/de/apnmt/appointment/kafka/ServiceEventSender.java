@@ -1,28 +1,61 @@
 package de.apnmt.appointment.kafka;
 
+import de.apnmt.appointment.service.catalog.ServiceCatalogCache;
+import de.apnmt.appointment.service.outbox.EventOutbox;
 import de.apnmt.common.event.ApnmtEvent;
 import de.apnmt.common.event.value.ServiceEventDTO;
 import de.apnmt.common.sender.ApnmtEventSender;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
 
 @Repository
 public class ServiceEventSender implements ApnmtEventSender<ServiceEventDTO> {
 
-    private static final Logger log = LoggerFactory.getLogger(ServiceEventSender.class);
+    private final EventOutbox eventOutbox;
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ServiceCatalogCache serviceCatalogCache;
 
-    public ServiceEventSender(KafkaTemplate<String, Object> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public ServiceEventSender(EventOutbox eventOutbox, ServiceCatalogCache serviceCatalogCache) {
+        this.eventOutbox = eventOutbox;
+        this.serviceCatalogCache = serviceCatalogCache;
     }
 
     @Override
     public void send(String topic, ApnmtEvent<ServiceEventDTO> event) {
-        log.info("Send event {} to topic {}", event, topic);
-        this.kafkaTemplate.send(topic, event);
+        this.eventOutbox.publish(topic, event);
+        this.evictCatalog(event);
+    }
+
+    /**
+     * Sends several events, e.g. of a bulk delete, with a single transaction synchronization.
+     *
+     * @param topic  the topic.
+     * @param events the events in publishing order.
+     */
+    public void sendAll(String topic, List<ApnmtEvent<ServiceEventDTO>> events) {
+        this.eventOutbox.publishAll(topic, events);
+        this.evictCatalog(events);
+    }
+
+    private void evictCatalog(ApnmtEvent<ServiceEventDTO> event) {
+        this.evictCatalog(List.of(event));
+    }
+
+    private void evictCatalog(List<ApnmtEvent<ServiceEventDTO>> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Evicting before the commit would let a concurrent read cache the old state again
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(event -> ServiceEventSender.this.serviceCatalogCache.evict(event.getValue()));
+                }
+            });
+        } else {
+            events.forEach(event -> this.serviceCatalogCache.evict(event.getValue()));
+        }
     }
 
 }
@@ -0,0 +1,126 @@
+package de.apnmt.appointment.repository;
+
+import de.apnmt.appointment.common.domain.Appointment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+/**
+ * Spring Data SQL repository for time range reads on the Appointment entity.
+ * <p>
+ * The pages of the keyset pagination are ordered by {@code (startAt, id)} and only ever requested with offset 0, so no
+ * rows are skipped and no count query is issued. Exports are streamed with a forward-only cursor fetching
+ * {@link #EXPORT_FETCH_SIZE} rows per round trip. Range reads, pages and exports read {@link AppointmentRow} projections
+ * instead of entities.
+ */
+@Repository
+public interface AppointmentRangeRepository extends JpaRepository<Appointment, Long> {
+    int EXPORT_FETCH_SIZE = 500;
+
+    String SELECT_ROW =
+        "select new de.apnmt.appointment.repository.AppointmentRow(appointment.id, appointment.startAt, appointment.endAt, " +
+            "appointment.organizationId, appointment.employeeId, customer.id, service.id) from Appointment appointment " +
+            "left join appointment.customer customer left join appointment.service service ";
+
+    @Query(
+        "select appointment.employeeId as employeeId, appointment.startAt as startAt, appointment.endAt as endAt from Appointment appointment " +
+            "where appointment.organizationId = :organizationId and appointment.employeeId = :employeeId " +
+            "and appointment.startAt < :end and appointment.endAt > :start order by appointment.startAt"
+    )
+    List<BookedInterval> findBookedIntervals(
+        @Param("organizationId") Long organizationId,
+        @Param("employeeId") Long employeeId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+
+    @Query(
+        "select appointment.employeeId as employeeId, appointment.startAt as startAt, appointment.endAt as endAt from Appointment appointment " +
+            "where appointment.organizationId = :organizationId and appointment.employeeId in :employeeIds " +
+            "and appointment.startAt < :end and appointment.endAt > :start order by appointment.employeeId, appointment.startAt"
+    )
+    List<BookedInterval> findBookedIntervals(
+        @Param("organizationId") Long organizationId,
+        @Param("employeeIds") Collection<Long> employeeIds,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+
+    @Query(
+        "select appointment.id as id, appointment.startAt as startAt, appointment.endAt as endAt from Appointment appointment " +
+            "where appointment.organizationId = :organizationId and appointment.employeeId = :employeeId and appointment.endAt > :after"
+    )
+    List<BookedAppointment> findBookedAppointmentsEndingAfter(
+        @Param("organizationId") Long organizationId,
+        @Param("employeeId") Long employeeId,
+        @Param("after") LocalDateTime after
+    );
+
+    @Query(
+        SELECT_ROW +
+            "where appointment.organizationId = :organizationId " +
+            "and appointment.startAt >= :start and appointment.endAt <= :end order by appointment.startAt, appointment.id"
+    )
+    List<AppointmentRow> findRowsWithin(
+        @Param("organizationId") Long organizationId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+
+    @Query(
+        SELECT_ROW +
+            "where appointment.organizationId = :organizationId and appointment.employeeId = :employeeId " +
+            "and appointment.startAt >= :start and appointment.endAt <= :end order by appointment.startAt, appointment.id"
+    )
+    List<AppointmentRow> findRowsWithin(
+        @Param("organizationId") Long organizationId,
+        @Param("employeeId") Long employeeId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+
+    @Query(SELECT_ROW + "where appointment.organizationId = :organizationId order by appointment.startAt, appointment.id")
+    List<AppointmentRow> findFirstPage(@Param("organizationId") Long organizationId, Pageable pageable);
+
+    @Query(
+        SELECT_ROW +
+            "where appointment.organizationId = :organizationId and appointment.startAt >= :startAt " +
+            "and (appointment.startAt > :startAt or (appointment.startAt = :startAt and appointment.id > :id)) " +
+            "order by appointment.startAt, appointment.id"
+    )
+    List<AppointmentRow> findPageAfter(
+        @Param("organizationId") Long organizationId,
+        @Param("startAt") LocalDateTime startAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query(
+        SELECT_ROW +
+            "where appointment.organizationId = :organizationId " +
+            "and appointment.startAt >= :start and appointment.startAt < :end order by appointment.startAt, appointment.id"
+    )
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_CACHEABLE, value = "false"),
+        }
+    )
+    Stream<AppointmentRow> streamByStartAt(
+        @Param("organizationId") Long organizationId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+}
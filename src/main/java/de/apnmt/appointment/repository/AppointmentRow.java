@@ -0,0 +1,100 @@
+package de.apnmt.appointment.repository;
+
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.common.service.dto.CustomerDTO;
+import de.apnmt.appointment.common.service.dto.ServiceDTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an appointment onto the columns of its DTO, read with a constructor expression.
+ * <p>
+ * Unlike an entity, a row is not managed by the persistence context, so reading it costs neither a snapshot for dirty
+ * checking nor the lazy loading of the customer and service, which are only referenced by id.
+ */
+public class AppointmentRow {
+
+    private final Long id;
+
+    private final LocalDateTime startAt;
+
+    private final LocalDateTime endAt;
+
+    private final Long organizationId;
+
+    private final Long employeeId;
+
+    private final Long customerId;
+
+    private final Long serviceId;
+
+    public AppointmentRow(
+        Long id,
+        LocalDateTime startAt,
+        LocalDateTime endAt,
+        Long organizationId,
+        Long employeeId,
+        Long customerId,
+        Long serviceId
+    ) {
+        this.id = id;
+        this.startAt = startAt;
+        this.endAt = endAt;
+        this.organizationId = organizationId;
+        this.employeeId = employeeId;
+        this.customerId = customerId;
+        this.serviceId = serviceId;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public LocalDateTime getStartAt() {
+        return this.startAt;
+    }
+
+    public LocalDateTime getEndAt() {
+        return this.endAt;
+    }
+
+    public Long getOrganizationId() {
+        return this.organizationId;
+    }
+
+    public Long getEmployeeId() {
+        return this.employeeId;
+    }
+
+    public Long getCustomerId() {
+        return this.customerId;
+    }
+
+    public Long getServiceId() {
+        return this.serviceId;
+    }
+
+    /**
+     * @return the DTO of the appointment, the customer and service only carry their id like in the
+     * {@link de.apnmt.appointment.common.service.mapper.AppointmentMapper}.
+     */
+    public AppointmentDTO toDto() {
+        AppointmentDTO appointment = new AppointmentDTO();
+        appointment.setId(this.id);
+        appointment.setStartAt(this.startAt);
+        appointment.setEndAt(this.endAt);
+        appointment.setOrganizationId(this.organizationId);
+        appointment.setEmployeeId(this.employeeId);
+        if (this.customerId != null) {
+            CustomerDTO customer = new CustomerDTO();
+            customer.setId(this.customerId);
+            appointment.setCustomer(customer);
+        }
+        if (this.serviceId != null) {
+            ServiceDTO service = new ServiceDTO();
+            service.setId(this.serviceId);
+            appointment.setService(service);
+        }
+        return appointment;
+    }
+}
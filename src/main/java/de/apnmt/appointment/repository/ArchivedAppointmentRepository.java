@@ -0,0 +1,82 @@
+package de.apnmt.appointment.repository;
+
+import de.apnmt.appointment.domain.ArchivedAppointment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+/**
+ * Spring Data SQL repository for the ArchivedAppointment entity.
+ */
+@Repository
+public interface ArchivedAppointmentRepository extends JpaRepository<ArchivedAppointment, Long> {
+
+    /**
+     * Get the start of the latest archived appointment of an organization, an index lookup. Ranges starting after it
+     * cannot contain archived appointments.
+     *
+     * @param organizationId the id of the organization.
+     * @return the start of the latest archived appointment, empty if none is archived.
+     */
+    @Query("select max(appointment.startAt) from ArchivedAppointment appointment where appointment.organizationId = :organizationId")
+    Optional<LocalDateTime> findLatestStartAt(@Param("organizationId") Long organizationId);
+
+    String SELECT_ROW =
+        "select new de.apnmt.appointment.repository.AppointmentRow(appointment.id, appointment.startAt, appointment.endAt, " +
+            "appointment.organizationId, appointment.employeeId, appointment.customerId, appointment.serviceId) " +
+            "from ArchivedAppointment appointment ";
+
+    @Query(SELECT_ROW + "where appointment.id = :id")
+    Optional<AppointmentRow> findRowById(@Param("id") Long id);
+
+    @Query(
+        SELECT_ROW +
+            "where appointment.organizationId = :organizationId " +
+            "and appointment.startAt >= :start and appointment.endAt <= :end order by appointment.startAt, appointment.id"
+    )
+    List<AppointmentRow> findRowsWithin(
+        @Param("organizationId") Long organizationId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+
+    @Query(
+        SELECT_ROW +
+            "where appointment.organizationId = :organizationId and appointment.employeeId = :employeeId " +
+            "and appointment.startAt >= :start and appointment.endAt <= :end order by appointment.startAt, appointment.id"
+    )
+    List<AppointmentRow> findRowsWithin(
+        @Param("organizationId") Long organizationId,
+        @Param("employeeId") Long employeeId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+
+    @Query(
+        SELECT_ROW +
+            "where appointment.organizationId = :organizationId " +
+            "and appointment.startAt >= :start and appointment.startAt < :end order by appointment.startAt, appointment.id"
+    )
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + AppointmentRangeRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_CACHEABLE, value = "false"),
+        }
+    )
+    Stream<AppointmentRow> streamByStartAt(
+        @Param("organizationId") Long organizationId,
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+}
@@ -0,0 +1,14 @@
+package de.apnmt.appointment.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an appointment onto its id and the interval it blocks.
+ */
+public interface BookedAppointment {
+    Long getId();
+
+    LocalDateTime getStartAt();
+
+    LocalDateTime getEndAt();
+}
@@ -0,0 +1,14 @@
+package de.apnmt.appointment.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an appointment onto the interval it blocks.
+ */
+public interface BookedInterval {
+    Long getEmployeeId();
+
+    LocalDateTime getStartAt();
+
+    LocalDateTime getEndAt();
+}
@@ -0,0 +1,20 @@
+package de.apnmt.appointment.repository;
+
+import de.apnmt.appointment.common.domain.Customer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data SQL repository for the keyset pagination of the Customer entity.
+ * <p>
+ * Pages are ordered by id and only ever requested with offset 0, so no rows are skipped and no count query is issued.
+ */
+@Repository
+public interface CustomerKeysetRepository extends JpaRepository<Customer, Long> {
+    List<Customer> findByOrganizationIdOrderByIdAsc(Long organizationId, Pageable pageable);
+
+    List<Customer> findByOrganizationIdAndIdGreaterThanOrderByIdAsc(Long organizationId, Long id, Pageable pageable);
+}
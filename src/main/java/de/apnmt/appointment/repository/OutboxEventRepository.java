@@ -0,0 +1,27 @@
+package de.apnmt.appointment.repository;
+
+import de.apnmt.appointment.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+/**
+ * Spring Data SQL repository for the OutboxEvent entity.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Get the oldest events and lock them. A relay of another instance waits until the locked batch has been published,
+     * so events are always published in the order they were written.
+     *
+     * @param pageable the size of the batch.
+     * @return the locked events in publishing order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OutboxEvent> findByOrderByIdAsc(Pageable pageable);
+}
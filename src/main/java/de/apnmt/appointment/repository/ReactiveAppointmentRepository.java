@@ -0,0 +1,130 @@
+package de.apnmt.appointment.repository;
+
+import io.r2dbc.spi.Row;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Non-blocking R2DBC repository for time range reads on the appointment and appointment_archive tables.
+ * <p>
+ * The rows are emitted as they are demanded by the subscriber and read as {@link AppointmentRow} projections like the
+ * blocking range reads, which they match: an appointment is returned if it lies within the range, archived or not. The
+ * archive is only queried if the range starts before its latest appointment of the organization, its rows are merged
+ * with the live ones in start order. Cancelling the subscription cancels the queries.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "application.reactive-read", name = "enabled", havingValue = "true")
+public class ReactiveAppointmentRepository {
+
+    private static final String SELECT_ROW =
+        "SELECT id, start_at, end_at, organization_id, employee_id, customer_id, service_id FROM %s " +
+        "WHERE organization_id = :organizationId AND start_at >= :start AND end_at <= :end ";
+
+    private static final String ORDER_BY = "ORDER BY start_at, id";
+
+    private static final String SELECT_LATEST_ARCHIVED =
+        "SELECT max(start_at) AS latest FROM appointment_archive WHERE organization_id = :organizationId";
+
+    private static final String APPOINTMENT_TABLE = "appointment";
+
+    private static final String ARCHIVE_TABLE = "appointment_archive";
+
+    private static final Comparator<AppointmentRow> ORDER = Comparator.comparing(AppointmentRow::getStartAt).thenComparing(AppointmentRow::getId);
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveAppointmentRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Get the appointments of an organization lying within a time range.
+     *
+     * @param organizationId the id of the organization.
+     * @param start          the start of the range.
+     * @param end            the end of the range.
+     * @return the appointments ordered by start and id.
+     */
+    public Flux<AppointmentRow> findByOrganization(Long organizationId, LocalDateTime start, LocalDateTime end) {
+        return this.withArchive(
+            organizationId,
+            start,
+            table ->
+                this.databaseClient
+                    .sql(String.format(SELECT_ROW, table) + ORDER_BY)
+                    .bind("organizationId", organizationId)
+                    .bind("start", start)
+                    .bind("end", end)
+                    .map((row, metadata) -> toRow(row))
+                    .all()
+        );
+    }
+
+    /**
+     * Get the appointments of an employee lying within a time range.
+     *
+     * @param organizationId the id of the organization.
+     * @param employeeId     the id of the employee.
+     * @param start          the start of the range.
+     * @param end            the end of the range.
+     * @return the appointments ordered by start and id.
+     */
+    public Flux<AppointmentRow> findByOrganizationAndEmployee(Long organizationId, Long employeeId, LocalDateTime start, LocalDateTime end) {
+        return this.withArchive(
+            organizationId,
+            start,
+            table ->
+                this.databaseClient
+                    .sql(String.format(SELECT_ROW, table) + "AND employee_id = :employeeId " + ORDER_BY)
+                    .bind("organizationId", organizationId)
+                    .bind("employeeId", employeeId)
+                    .bind("start", start)
+                    .bind("end", end)
+                    .map((row, metadata) -> toRow(row))
+                    .all()
+        );
+    }
+
+    /**
+     * Runs a range read on the appointment table and, if the range reaches the archive, on the appointment_archive
+     * table, merging both results in start order like the blocking reads.
+     *
+     * @param organizationId the id of the organization.
+     * @param start          the start of the range.
+     * @param query          the range read of the table with the given name, ordered by start and id.
+     * @return the appointments ordered by start and id.
+     */
+    private Flux<AppointmentRow> withArchive(Long organizationId, LocalDateTime start, Function<String, Flux<AppointmentRow>> query) {
+        return this.databaseClient
+            .sql(SELECT_LATEST_ARCHIVED)
+            .bind("organizationId", organizationId)
+            // max() yields a single row, whose value is null without archived appointments
+            .map((row, metadata) -> Optional.ofNullable(row.get("latest", LocalDateTime.class)))
+            .one()
+            .flatMapMany(latest -> {
+                if (latest.filter(startAt -> !startAt.isBefore(start)).isEmpty()) {
+                    return query.apply(APPOINTMENT_TABLE);
+                }
+                return Flux.mergeComparing(ORDER, query.apply(APPOINTMENT_TABLE), query.apply(ARCHIVE_TABLE));
+            });
+    }
+
+    private static AppointmentRow toRow(Row row) {
+        return new AppointmentRow(
+            row.get("id", Long.class),
+            row.get("start_at", LocalDateTime.class),
+            row.get("end_at", LocalDateTime.class),
+            row.get("organization_id", Long.class),
+            row.get("employee_id", Long.class),
+            row.get("customer_id", Long.class),
+            row.get("service_id", Long.class)
+        );
+    }
+}
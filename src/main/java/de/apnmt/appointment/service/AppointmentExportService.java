@@ -0,0 +1,99 @@
+package de.apnmt.appointment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import de.apnmt.appointment.repository.AppointmentRow;
+import de.apnmt.appointment.service.archive.AppointmentArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service exporting the appointments of a time range as newline delimited JSON.
+ * <p>
+ * The appointments are read as {@link AppointmentRow} projections with a forward-only cursor and written one by one.
+ * Nothing is kept in the persistence context, so memory use does not depend on the size of the range. If the range
+ * reaches back into the appointment archive, the archived appointments are merged into the stream.
+ */
+@Service
+public class AppointmentExportService {
+
+    private static final byte NEWLINE = '\n';
+
+    private static final Comparator<AppointmentRow> ORDER = Comparator.comparing(AppointmentRow::getStartAt).thenComparing(AppointmentRow::getId);
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentExportService.class);
+
+    private final AppointmentRangeRepository appointmentRangeRepository;
+
+    private final AppointmentArchiveService appointmentArchiveService;
+
+    private final ObjectWriter objectWriter;
+
+    public AppointmentExportService(
+        AppointmentRangeRepository appointmentRangeRepository,
+        AppointmentArchiveService appointmentArchiveService,
+        ObjectMapper objectMapper
+    ) {
+        this.appointmentRangeRepository = appointmentRangeRepository;
+        this.appointmentArchiveService = appointmentArchiveService;
+        this.objectWriter = objectMapper.writer();
+    }
+
+    /**
+     * Writes the appointments of an organization starting in a time range to a stream, one JSON object per line.
+     *
+     * @param organizationId the id of the organization.
+     * @param start          the start of the range, inclusive.
+     * @param end            the end of the range, exclusive.
+     * @param out            the stream to write to, flushed after the first appointment and after every chunk.
+     * @return the number of exported appointments.
+     * @throws IOException if writing fails.
+     */
+    @Transactional(readOnly = true)
+    public long export(Long organizationId, LocalDateTime start, LocalDateTime end, OutputStream out) throws IOException {
+        this.log.debug("Request to export the appointments of organization {} from {} to {}", organizationId, start, end);
+        long count = 0;
+        try (
+            Stream<AppointmentRow> appointments = this.appointmentRangeRepository.streamByStartAt(organizationId, start, end);
+            Stream<AppointmentRow> archivedAppointments = this.appointmentArchiveService.streamByStartAt(organizationId, start, end)
+        ) {
+            Iterator<AppointmentRow> current = appointments.iterator();
+            Iterator<AppointmentRow> archived = archivedAppointments.iterator();
+            AppointmentRow nextCurrent = next(current);
+            AppointmentRow nextArchived = next(archived);
+            while (nextCurrent != null || nextArchived != null) {
+                AppointmentRow appointment;
+                if (nextArchived == null || (nextCurrent != null && ORDER.compare(nextCurrent, nextArchived) <= 0)) {
+                    appointment = nextCurrent;
+                    nextCurrent = next(current);
+                } else {
+                    appointment = nextArchived;
+                    nextArchived = next(archived);
+                }
+                out.write(this.objectWriter.writeValueAsBytes(appointment.toDto()));
+                out.write(NEWLINE);
+                count++;
+                if (count == 1 || count % AppointmentRangeRepository.EXPORT_FETCH_SIZE == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        this.log.debug("Exported {} appointments of organization {}", count, organizationId);
+        return count;
+    }
+
+    private static AppointmentRow next(Iterator<AppointmentRow> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
@@ -0,0 +1,187 @@
+package de.apnmt.appointment.service;
+
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.kafka.AppointmentEventSender;
+import de.apnmt.appointment.kafka.ServiceEventSender;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.ApnmtEventType;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import de.apnmt.common.event.value.ServiceEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Service deleting all appointments, services or customers, optionally of one organization only.
+ * <p>
+ * Rows are removed with set-based delete statements of {@link ApplicationProperties.Bulk#getDeleteChunkSize()} rows,
+ * each in a transaction of its own, so neither a statement nor a transaction grows with the table. The deleted events
+ * of a chunk are published as one batch, which keeps the interval index and the service catalog in sync.
+ */
+@Service
+public class BulkDeleteService {
+
+    private final Logger log = LoggerFactory.getLogger(BulkDeleteService.class);
+
+    private final EntityManager entityManager;
+
+    private final AppointmentEventSender appointmentEventSender;
+
+    private final ServiceEventSender serviceEventSender;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    public BulkDeleteService(
+        EntityManager entityManager,
+        AppointmentEventSender appointmentEventSender,
+        ServiceEventSender serviceEventSender,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityManager = entityManager;
+        this.appointmentEventSender = appointmentEventSender;
+        this.serviceEventSender = serviceEventSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, applicationProperties.getBulk().getDeleteChunkSize());
+    }
+
+    /**
+     * Delete the appointments of an organization, publishing an {@link ApnmtEventType#appointmentDeleted} event for each.
+     * Archived appointments are deleted as well, without events.
+     *
+     * @param organizationId the id of the organization, {@code null} for all organizations.
+     * @return the number of deleted appointments.
+     */
+    public long deleteAppointments(Long organizationId) {
+        this.log.debug("Request to delete all Appointments of organization {}", organizationId);
+        long deleted = this.deleteInChunks(organizationId, this::deleteAppointmentChunk);
+        return deleted + this.deleteInChunks(organizationId, this::deleteArchivedAppointmentChunk);
+    }
+
+    /**
+     * Delete the services of an organization, publishing a {@link ApnmtEventType#serviceDeleted} event for each.
+     *
+     * @param organizationId the id of the organization, {@code null} for all organizations.
+     * @return the number of deleted services.
+     */
+    public long deleteServices(Long organizationId) {
+        this.log.debug("Request to delete all Services of organization {}", organizationId);
+        return this.deleteInChunks(organizationId, this::deleteServiceChunk);
+    }
+
+    /**
+     * Delete the customers of an organization.
+     *
+     * @param organizationId the id of the organization, {@code null} for all organizations.
+     * @return the number of deleted customers.
+     */
+    public long deleteCustomers(Long organizationId) {
+        this.log.debug("Request to delete all Customers of organization {}", organizationId);
+        return this.deleteInChunks(organizationId, this::deleteCustomerChunk);
+    }
+
+    private long deleteInChunks(Long organizationId, ToIntFunction<Long> chunk) {
+        long deleted = 0;
+        int count;
+        do {
+            Integer result = this.transactionTemplate.execute(status -> chunk.applyAsInt(organizationId));
+            count = result == null ? 0 : result;
+            deleted += count;
+        } while (count == this.chunkSize);
+        return deleted;
+    }
+
+    private int deleteAppointmentChunk(Long organizationId) {
+        List<Object[]> rows = this.select(
+            "select appointment.id, appointment.organizationId, appointment.employeeId, appointment.startAt, appointment.endAt from Appointment appointment",
+            "appointment",
+            organizationId
+        );
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<ApnmtEvent<AppointmentEventDTO>> events = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            AppointmentEventDTO value = new AppointmentEventDTO();
+            value.setId((Long) row[0]);
+            value.setOrganizationId((Long) row[1]);
+            value.setEmployeeId((Long) row[2]);
+            value.setStartAt((LocalDateTime) row[3]);
+            value.setEndAt((LocalDateTime) row[4]);
+            ids.add(value.getId());
+            events.add(new ApnmtEvent<AppointmentEventDTO>().timestamp(LocalDateTime.now()).type(ApnmtEventType.appointmentDeleted).value(value));
+        }
+        int deleted = this.delete("Appointment", ids);
+        this.appointmentEventSender.sendAll(TopicConstants.APPOINTMENT_CHANGED_TOPIC, events);
+        return deleted;
+    }
+
+    private int deleteArchivedAppointmentChunk(Long organizationId) {
+        List<Object[]> rows = this.select(
+            "select appointment.id, appointment.organizationId from ArchivedAppointment appointment",
+            "appointment",
+            organizationId
+        );
+        List<Long> ids = new ArrayList<>(rows.size());
+        rows.forEach(row -> ids.add((Long) row[0]));
+        return this.delete("ArchivedAppointment", ids);
+    }
+
+    private int deleteServiceChunk(Long organizationId) {
+        List<Object[]> rows = this.select("select service.id, service.organizationId from Service service", "service", organizationId);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<ApnmtEvent<ServiceEventDTO>> events = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ServiceEventDTO value = new ServiceEventDTO();
+            value.setId((Long) row[0]);
+            value.setOrganizationId((Long) row[1]);
+            ids.add(value.getId());
+            events.add(new ApnmtEvent<ServiceEventDTO>().timestamp(LocalDateTime.now()).type(ApnmtEventType.serviceDeleted).value(value));
+        }
+        int deleted = this.delete("Service", ids);
+        this.serviceEventSender.sendAll(TopicConstants.SERVICE_CHANGED_TOPIC, events);
+        return deleted;
+    }
+
+    private int deleteCustomerChunk(Long organizationId) {
+        List<Object[]> rows = this.select("select customer.id, customer.organizationId from Customer customer", "customer", organizationId);
+        List<Long> ids = new ArrayList<>(rows.size());
+        rows.forEach(row -> ids.add((Long) row[0]));
+        return this.delete("Customer", ids);
+    }
+
+    /**
+     * Selects the next chunk of rows ordered by id.
+     */
+    private List<Object[]> select(String select, String alias, Long organizationId) {
+        String where = organizationId == null ? "" : " where " + alias + ".organizationId = :organizationId";
+        TypedQuery<Object[]> query = this.entityManager.createQuery(select + where + " order by " + alias + ".id", Object[].class);
+        if (organizationId != null) {
+            query.setParameter("organizationId", organizationId);
+        }
+        return query.setMaxResults(this.chunkSize).getResultList();
+    }
+
+    private int delete(String entity, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return this.entityManager.createQuery("delete from " + entity + " entity where entity.id in :ids").setParameter("ids", ids).executeUpdate();
+    }
+}
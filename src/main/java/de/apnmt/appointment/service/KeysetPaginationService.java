@@ -0,0 +1,145 @@
+package de.apnmt.appointment.service;
+
+import de.apnmt.appointment.common.domain.Customer;
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.common.service.dto.CustomerDTO;
+import de.apnmt.appointment.common.service.mapper.CustomerMapper;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import de.apnmt.appointment.repository.AppointmentRow;
+import de.apnmt.appointment.repository.CustomerKeysetRepository;
+import de.apnmt.appointment.service.dto.KeysetPageDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the keyset (seek) pagination of the organization listings.
+ * <p>
+ * Instead of a page number the client passes the opaque cursor of the previous page, which encodes the sort key of its
+ * last row. The next page is read by seeking behind that key, so every page costs the same as the first one. No total
+ * count is computed; one row more than requested is read to know whether there is a next page. Appointments are read as
+ * {@link AppointmentRow} projections.
+ */
+@Service
+@Transactional(readOnly = true)
+public class KeysetPaginationService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String SEPARATOR = "~";
+
+    private final Logger log = LoggerFactory.getLogger(KeysetPaginationService.class);
+
+    private final AppointmentRangeRepository appointmentRangeRepository;
+
+    private final CustomerKeysetRepository customerKeysetRepository;
+
+    private final CustomerMapper customerMapper;
+
+    public KeysetPaginationService(
+        AppointmentRangeRepository appointmentRangeRepository,
+        CustomerKeysetRepository customerKeysetRepository,
+        CustomerMapper customerMapper
+    ) {
+        this.appointmentRangeRepository = appointmentRangeRepository;
+        this.customerKeysetRepository = customerKeysetRepository;
+        this.customerMapper = customerMapper;
+    }
+
+    /**
+     * Get a page of the appointments of an organization ordered by start and id.
+     *
+     * @param organizationId the id of the organization.
+     * @param cursor         the cursor of the previous page, {@code null} for the first page.
+     * @param size           the maximal number of appointments.
+     * @return the page, or empty if the cursor is malformed.
+     */
+    public Optional<KeysetPageDTO<AppointmentDTO>> findAppointments(Long organizationId, String cursor, int size) {
+        this.log.debug("Request to get a page of appointments of organization {} after {}", organizationId, cursor);
+        PageRequest limit = limit(size);
+        if (cursor == null) {
+            return Optional.of(this.page(this.appointmentRangeRepository.findFirstPage(organizationId, limit), limit, KeysetPaginationService::toDto,
+                KeysetPaginationService::appointmentCursor));
+        }
+        String[] key = decode(cursor).split(SEPARATOR, -1);
+        if (key.length != 2) {
+            return Optional.empty();
+        }
+        try {
+            List<AppointmentRow> appointments = this.appointmentRangeRepository.findPageAfter(organizationId, LocalDateTime.parse(key[0]), Long.valueOf(key[1]), limit);
+            return Optional.of(this.page(appointments, limit, KeysetPaginationService::toDto, KeysetPaginationService::appointmentCursor));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Get a page of the customers of an organization ordered by id.
+     *
+     * @param organizationId the id of the organization.
+     * @param cursor         the cursor of the previous page, {@code null} for the first page.
+     * @param size           the maximal number of customers.
+     * @return the page, or empty if the cursor is malformed.
+     */
+    public Optional<KeysetPageDTO<CustomerDTO>> findCustomers(Long organizationId, String cursor, int size) {
+        this.log.debug("Request to get a page of customers of organization {} after {}", organizationId, cursor);
+        PageRequest limit = limit(size);
+        if (cursor == null) {
+            return Optional.of(this.page(this.customerKeysetRepository.findByOrganizationIdOrderByIdAsc(organizationId, limit), limit,
+                this.customerMapper::toDto, customer -> encode(customer.getId().toString())));
+        }
+        try {
+            List<Customer> customers = this.customerKeysetRepository.findByOrganizationIdAndIdGreaterThanOrderByIdAsc(organizationId, Long.valueOf(decode(cursor)), limit);
+            return Optional.of(this.page(customers, limit, this.customerMapper::toDto, customer -> encode(customer.getId().toString())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private <E, D> KeysetPageDTO<D> page(List<E> rows, PageRequest limit, Function<List<E>, List<D>> mapper, Function<E, String> cursor) {
+        int size = limit.getPageSize() - 1;
+        if (rows.size() <= size) {
+            return new KeysetPageDTO<>(mapper.apply(rows), null);
+        }
+        List<E> content = rows.subList(0, size);
+        return new KeysetPageDTO<>(mapper.apply(content), cursor.apply(content.get(size - 1)));
+    }
+
+    /**
+     * @return a request for the first rows behind the cursor, including one row to detect the next page.
+     */
+    private static PageRequest limit(int size) {
+        return PageRequest.of(0, Math.min(Math.max(size, 1), MAX_PAGE_SIZE) + 1);
+    }
+
+    private static List<AppointmentDTO> toDto(List<AppointmentRow> appointments) {
+        return appointments.stream().map(AppointmentRow::toDto).collect(Collectors.toList());
+    }
+
+    private static String appointmentCursor(AppointmentRow appointment) {
+        return encode(appointment.getStartAt() + SEPARATOR + appointment.getId());
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package de.apnmt.appointment.service;
+
+import de.apnmt.appointment.common.repository.ServiceRepository;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import de.apnmt.appointment.repository.BookedInterval;
+import de.apnmt.appointment.service.dto.EmployeeSlotsDTO;
+import de.apnmt.appointment.service.dto.SlotDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Service computing the free slots of employees.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SlotService {
+
+    private final Logger log = LoggerFactory.getLogger(SlotService.class);
+
+    private final AppointmentRangeRepository appointmentRangeRepository;
+
+    private final ServiceRepository serviceRepository;
+
+    public SlotService(AppointmentRangeRepository appointmentRangeRepository, ServiceRepository serviceRepository) {
+        this.appointmentRangeRepository = appointmentRangeRepository;
+        this.serviceRepository = serviceRepository;
+    }
+
+    /**
+     * Get the free slots of an employee in which the given service can be booked.
+     *
+     * @param organizationId the id of the organization.
+     * @param employeeId     the id of the employee.
+     * @param serviceId      the id of the service defining the minimal slot length.
+     * @param start          the start of the searched range.
+     * @param end            the end of the searched range.
+     * @return the free slots, or empty if the service does not exist in the organization.
+     */
+    public Optional<List<SlotDTO>> findFreeSlots(Long organizationId, Long employeeId, Long serviceId, LocalDateTime start, LocalDateTime end) {
+        this.log.debug("Request to get free slots of employee {} in organization {} for service {}", employeeId, organizationId, serviceId);
+        return this.findDuration(organizationId, serviceId)
+            .map(duration -> freeSlots(this.appointmentRangeRepository.findBookedIntervals(organizationId, employeeId, start, end), start, end, duration));
+    }
+
+    /**
+     * Get the free slots of several employees of an organization with one range query.
+     * <p>
+     * The appointments only know the employees that have been booked, so the employees have to be given. Each of them
+     * is returned, those without appointments in the range with the whole range free.
+     *
+     * @param organizationId the id of the organization.
+     * @param employeeIds    the ids of the employees, not empty.
+     * @param serviceId      the id of the service defining the minimal slot length.
+     * @param start          the start of the searched range.
+     * @param end            the end of the searched range.
+     * @return the free slots per employee sorted by employee id, or empty if the service does not exist in the organization.
+     */
+    public Optional<List<EmployeeSlotsDTO>> findFreeSlots(Long organizationId, Collection<Long> employeeIds, Long serviceId, LocalDateTime start, LocalDateTime end) {
+        this.log.debug("Request to get free slots of employees {} in organization {} for service {}", employeeIds, organizationId, serviceId);
+        return this.findDuration(organizationId, serviceId).map(duration -> {
+            Map<Long, List<BookedInterval>> bookedByEmployee = new TreeMap<>();
+            employeeIds.forEach(employeeId -> bookedByEmployee.put(employeeId, new ArrayList<>()));
+            for (BookedInterval interval : this.appointmentRangeRepository.findBookedIntervals(organizationId, employeeIds, start, end)) {
+                bookedByEmployee.get(interval.getEmployeeId()).add(interval);
+            }
+            List<EmployeeSlotsDTO> result = new ArrayList<>(bookedByEmployee.size());
+            bookedByEmployee.forEach((employeeId, intervals) -> result.add(new EmployeeSlotsDTO(employeeId, freeSlots(intervals, start, end, duration))));
+            return result;
+        });
+    }
+
+    /**
+     * Get the length of a service of the organization.
+     *
+     * @param organizationId the id of the organization.
+     * @param serviceId      the id of the service.
+     * @return the duration of the service, or empty if the service does not exist in the organization.
+     */
+    public Optional<Duration> findDuration(Long organizationId, Long serviceId) {
+        return this.serviceRepository.findById(serviceId)
+            .filter(service -> Objects.equals(service.getOrganizationId(), organizationId))
+            .map(service -> service.getDuration())
+            .map(Duration::ofMinutes);
+    }
+
+    /**
+     * Computes the gaps between the booked intervals in a single pass.
+     *
+     * @param booked   the booked intervals, sorted by start.
+     * @param start    the start of the searched range.
+     * @param end      the end of the searched range.
+     * @param duration the minimal length of a returned slot.
+     * @return the maximal free windows of at least {@code duration}, sorted by start.
+     */
+    public static List<SlotDTO> freeSlots(List<? extends BookedInterval> booked, LocalDateTime start, LocalDateTime end, Duration duration) {
+        List<SlotDTO> slots = new ArrayList<>();
+        LocalDateTime cursor = start;
+        for (BookedInterval interval : booked) {
+            if (!interval.getStartAt().isBefore(end)) {
+                break;
+            }
+            addIfLongEnough(slots, cursor, interval.getStartAt(), duration);
+            if (interval.getEndAt().isAfter(cursor)) {
+                cursor = interval.getEndAt();
+            }
+        }
+        addIfLongEnough(slots, cursor, end, duration);
+        return slots;
+    }
+
+    private static void addIfLongEnough(List<SlotDTO> slots, LocalDateTime startAt, LocalDateTime endAt, Duration duration) {
+        if (startAt.isBefore(endAt) && Duration.between(startAt, endAt).compareTo(duration) >= 0) {
+            slots.add(new SlotDTO(startAt, endAt));
+        }
+    }
+}
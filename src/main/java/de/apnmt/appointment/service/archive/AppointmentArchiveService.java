@@ -0,0 +1,190 @@
+package de.apnmt.appointment.service.archive;
+
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.repository.AppointmentRow;
+import de.apnmt.appointment.repository.ArchivedAppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Service moving past appointments to the appointment archive, which keeps the indexes of the appointment table used
+ * by the overlap and range queries small.
+ * <p>
+ * Appointments that ended more than {@link ApplicationProperties.Archive#getRetention()} ago are moved in chunks of
+ * {@link ApplicationProperties.Archive#getChunkSize()}, each copied and deleted in a transaction of its own, with a
+ * pause between two chunks. Range reads only include the archive if the range reaches back to the latest archived
+ * appointment of the organization.
+ */
+@Service
+public class AppointmentArchiveService {
+
+    private static final String ARCHIVE_STATEMENT =
+        "INSERT INTO appointment_archive (id, start_at, end_at, organization_id, employee_id, customer_id, service_id, archived_at) " +
+        "SELECT id, start_at, end_at, organization_id, employee_id, customer_id, service_id, :archivedAt FROM appointment WHERE id IN (:ids)";
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentArchiveService.class);
+
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Archive properties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AppointmentArchiveService(
+        ArchivedAppointmentRepository archivedAppointmentRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getArchive();
+    }
+
+    /**
+     * Moves all appointments that ended before the retention window to the archive. Does nothing while a previous run
+     * is still archiving.
+     *
+     * @return the number of archived appointments.
+     */
+    @Scheduled(cron = "${application.archive.cron:0 30 2 * * *}")
+    public long archive() {
+        if (!this.properties.isEnabled() || !this.running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(this.properties.getRetention());
+            int chunkSize = Math.max(1, this.properties.getChunkSize());
+            long archived = 0;
+            int count;
+            do {
+                Integer result = this.transactionTemplate.execute(status -> this.archiveChunk(cutoff, chunkSize));
+                count = result == null ? 0 : result;
+                archived += count;
+            } while (count == chunkSize && this.pause());
+            this.log.info("Archived {} appointments that ended before {}", archived, cutoff);
+            return archived;
+        } catch (RuntimeException e) {
+            this.log.warn("Failed to archive appointments, retrying with the next run: {}", e.getMessage());
+            return 0;
+        } finally {
+            this.running.set(false);
+        }
+    }
+
+    /**
+     * Streams the archived appointments of an organization starting in a time range.
+     *
+     * @param organizationId the id of the organization.
+     * @param start          the start of the range, inclusive.
+     * @param end            the end of the range, exclusive.
+     * @return the archived appointments ordered by start and id, an empty stream without querying the archive if the
+     * range starts after the latest archived appointment.
+     */
+    public Stream<AppointmentRow> streamByStartAt(Long organizationId, LocalDateTime start, LocalDateTime end) {
+        if (!this.reachesArchive(organizationId, start)) {
+            return Stream.empty();
+        }
+        return this.archivedAppointmentRepository.streamByStartAt(organizationId, start, end);
+    }
+
+    /**
+     * Get the archived appointments of an organization lying within a time range, like the range reads of the
+     * appointment resource.
+     *
+     * @param organizationId the id of the organization.
+     * @param start          the start of the range, inclusive.
+     * @param end            the end of the range, inclusive.
+     * @return the archived appointments ordered by start and id, an empty list without querying the archive if the
+     * range starts after the latest archived appointment.
+     */
+    @Transactional(readOnly = true)
+    public List<AppointmentRow> findWithin(Long organizationId, LocalDateTime start, LocalDateTime end) {
+        if (!this.reachesArchive(organizationId, start)) {
+            return Collections.emptyList();
+        }
+        return this.archivedAppointmentRepository.findRowsWithin(organizationId, start, end);
+    }
+
+    /**
+     * Get the archived appointments of an employee lying within a time range, like the range reads of the appointment
+     * resource.
+     *
+     * @param organizationId the id of the organization.
+     * @param employeeId     the id of the employee.
+     * @param start          the start of the range, inclusive.
+     * @param end            the end of the range, inclusive.
+     * @return the archived appointments ordered by start and id, an empty list without querying the archive if the
+     * range starts after the latest archived appointment.
+     */
+    @Transactional(readOnly = true)
+    public List<AppointmentRow> findWithin(Long organizationId, Long employeeId, LocalDateTime start, LocalDateTime end) {
+        if (!this.reachesArchive(organizationId, start)) {
+            return Collections.emptyList();
+        }
+        return this.archivedAppointmentRepository.findRowsWithin(organizationId, employeeId, start, end);
+    }
+
+    /**
+     * Get an archived appointment.
+     *
+     * @param id the id of the appointment.
+     * @return the archived appointment, empty if it is not archived.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AppointmentRow> findOne(Long id) {
+        return this.archivedAppointmentRepository.findRowById(id);
+    }
+
+    private boolean reachesArchive(Long organizationId, LocalDateTime start) {
+        return this.archivedAppointmentRepository.findLatestStartAt(organizationId).filter(latest -> !latest.isBefore(start)).isPresent();
+    }
+
+    private int archiveChunk(LocalDateTime cutoff, int chunkSize) {
+        // Locked, so an appointment cannot be moved into the future while it is archived
+        List<Long> ids = this.entityManager
+            .createQuery("select appointment.id from Appointment appointment where appointment.endAt < :cutoff order by appointment.endAt", Long.class)
+            .setParameter("cutoff", cutoff)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setMaxResults(chunkSize)
+            .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        this.entityManager.createNativeQuery(ARCHIVE_STATEMENT).setParameter("archivedAt", LocalDateTime.now()).setParameter("ids", ids).executeUpdate();
+        this.entityManager.createQuery("delete from Appointment appointment where appointment.id in :ids").setParameter("ids", ids).executeUpdate();
+        return ids.size();
+    }
+
+    /**
+     * @return whether archiving may go on.
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(this.properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package de.apnmt.appointment.service.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Per-employee locks serializing bookings across all instances of the service.
+ * <p>
+ * The action runs inside a transaction that first takes the PostgreSQL transaction-level advisory lock of the
+ * employee. The appointment service joins this transaction, so the lock is held until its changes are committed and is
+ * released by the database on commit or rollback. Only bookings of the same employee wait for each other.
+ */
+@Service
+public class AdvisoryLocks {
+
+    private static final String LOCK_QUERY = "select 1 from pg_advisory_xact_lock(:key)";
+
+    private final Logger log = LoggerFactory.getLogger(AdvisoryLocks.class);
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer lockWait;
+
+    public AdvisoryLocks(EntityManager entityManager, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockWait = Timer.builder("booking.lock.wait")
+            .description("Time spent waiting for the booking lock of an employee")
+            .tag("mode", "cluster")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs the action in a transaction holding the advisory lock of the employee.
+     *
+     * @param employeeId the id of the employee.
+     * @param action     the action to run.
+     * @param <T>        the type of the result.
+     * @return the result of the action.
+     * @throws Throwable if the action fails.
+     */
+    public <T> T runLocked(Long employeeId, EmployeeLocks.LockedAction<T> action) throws Throwable {
+        try {
+            return this.transactionTemplate.execute(status -> {
+                this.lock(employeeId);
+                try {
+                    return action.run();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new UndeclaredThrowableException(e);
+                }
+            });
+        } catch (UndeclaredThrowableException e) {
+            throw e.getUndeclaredThrowable();
+        }
+    }
+
+    /**
+     * Takes the advisory locks of the employees in the current transaction, in ascending order of the employee ids so
+     * that two transactions locking overlapping sets of employees cannot deadlock. The locks are released on commit or
+     * rollback.
+     *
+     * @param employeeIds the ids of the employees.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockAll(Collection<Long> employeeIds) {
+        for (Long employeeId : new TreeSet<>(employeeIds)) {
+            this.lock(employeeId);
+        }
+    }
+
+    private void lock(Long employeeId) {
+        this.lockWait.record(() -> this.entityManager.createNativeQuery(LOCK_QUERY).setParameter("key", employeeId).getSingleResult());
+        this.log.debug("Acquired advisory lock of employee {}", employeeId);
+    }
+}
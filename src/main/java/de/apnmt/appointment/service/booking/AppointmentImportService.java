@@ -0,0 +1,312 @@
+package de.apnmt.appointment.service.booking;
+
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.common.service.mapper.AppointmentMapper;
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.kafka.AppointmentEventSender;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import de.apnmt.appointment.repository.BookedInterval;
+import de.apnmt.appointment.service.dto.ImportResultDTO;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.ApnmtEventType;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service creating appointments in bulk, e.g. when migrating the appointments of an organization.
+ * <p>
+ * The rows are processed in chunks of {@link ApplicationProperties.Booking#getImportChunkSize()}. The booked intervals
+ * of all employees of a chunk are loaded with one range query per organization, and every row is checked against them
+ * and against the accepted rows before it in memory. The accepted rows are inserted in JDBC batches and their events
+ * are published together in the same transaction. Rejected rows are reported and do not abort the import. If storing a
+ * chunk fails, e.g. because a concurrent booking violated the exclusion constraint, its accepted rows are retried one by
+ * one, each checked again against the booked intervals of its employee in its own transaction.
+ * <p>
+ * Like single bookings, a chunk is checked and stored under the locks of its employees as configured by
+ * {@link ApplicationProperties.Booking#getLockMode()}, so a concurrent booking cannot take a slot between the check and
+ * the commit of the chunk.
+ */
+@Service
+public class AppointmentImportService {
+
+    private static final long BOOKED_ID = 0L;
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentImportService.class);
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final AppointmentRangeRepository appointmentRangeRepository;
+
+    private final AppointmentMapper appointmentMapper;
+
+    private final AppointmentEventSender appointmentEventSender;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EmployeeLocks employeeLocks;
+
+    private final AdvisoryLocks advisoryLocks;
+
+    private final ApplicationProperties.LockMode lockMode;
+
+    private final int chunkSize;
+
+    public AppointmentImportService(
+        AppointmentRepository appointmentRepository,
+        AppointmentRangeRepository appointmentRangeRepository,
+        AppointmentMapper appointmentMapper,
+        AppointmentEventSender appointmentEventSender,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        EmployeeLocks employeeLocks,
+        AdvisoryLocks advisoryLocks,
+        ApplicationProperties applicationProperties
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentRangeRepository = appointmentRangeRepository;
+        this.appointmentMapper = appointmentMapper;
+        this.appointmentEventSender = appointmentEventSender;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employeeLocks = employeeLocks;
+        this.advisoryLocks = advisoryLocks;
+        this.lockMode = applicationProperties.getBooking().getLockMode();
+        this.chunkSize = Math.max(1, applicationProperties.getBooking().getImportChunkSize());
+    }
+
+    /**
+     * Creates the given appointments.
+     *
+     * @param appointments the appointments to create, read chunk by chunk.
+     * @return the outcome of every row in the order of the rows.
+     */
+    public List<ImportResultDTO> importAppointments(Iterator<AppointmentDTO> appointments) {
+        List<ImportResultDTO> results = new ArrayList<>();
+        List<AppointmentDTO> chunk = new ArrayList<>(this.chunkSize);
+        while (appointments.hasNext()) {
+            chunk.add(appointments.next());
+            if (chunk.size() == this.chunkSize) {
+                results.addAll(this.importChunk(results.size(), chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(this.importChunk(results.size(), chunk));
+        }
+        this.log.debug("Imported {} appointments", results.stream().filter(result -> result.getStatus() == ImportResultDTO.Status.CREATED).count());
+        return results;
+    }
+
+    private List<ImportResultDTO> importChunk(int offset, List<AppointmentDTO> chunk) {
+        Set<Long> employeeIds = new TreeSet<>();
+        for (AppointmentDTO appointment : chunk) {
+            if (appointment != null && appointment.getEmployeeId() != null) {
+                employeeIds.add(appointment.getEmployeeId());
+            }
+        }
+        if (this.lockMode == ApplicationProperties.LockMode.NONE) {
+            return this.importChunk(offset, chunk, employeeIds);
+        }
+        try {
+            return this.employeeLocks.runLocked(employeeIds, () -> this.importChunk(offset, chunk, employeeIds));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private List<ImportResultDTO> importChunk(int offset, List<AppointmentDTO> chunk, Set<Long> employeeIds) {
+        ImportResultDTO[] results = new ImportResultDTO[chunk.size()];
+        List<Integer> accepted = new ArrayList<>(chunk.size());
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                accepted.clear();
+                this.lockInTransaction(employeeIds);
+                this.check(offset, chunk, results, accepted);
+                this.insert(offset, chunk, accepted, results);
+            });
+        } catch (RuntimeException e) {
+            this.log.warn("Importing rows {} - {} failed, retrying them one by one: {}", offset, offset + chunk.size() - 1, e.getMessage());
+            for (int i : accepted) {
+                results[i] = this.insertOne(offset + i, chunk.get(i));
+            }
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    results[i] = ImportResultDTO.rejected(offset + i, ImportResultDTO.Status.FAILED, mostSpecificMessage(e));
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Rejects the invalid and overlapping rows of a chunk and collects the indexes of the others.
+     */
+    private void check(int offset, List<AppointmentDTO> chunk, ImportResultDTO[] results, List<Integer> accepted) {
+        Map<Long, List<AppointmentDTO>> byOrganization = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String invalid = invalid(chunk.get(i));
+            if (invalid != null) {
+                results[i] = ImportResultDTO.rejected(offset + i, ImportResultDTO.Status.INVALID, invalid);
+            } else {
+                byOrganization.computeIfAbsent(chunk.get(i).getOrganizationId(), id -> new ArrayList<>()).add(chunk.get(i));
+            }
+        }
+        Map<List<Long>, SortedIntervalSet> booked = new HashMap<>();
+        byOrganization.forEach((organizationId, appointments) -> booked.putAll(this.findBooked(organizationId, appointments)));
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            AppointmentDTO appointment = chunk.get(i);
+            List<Long> employee = List.of(appointment.getOrganizationId(), appointment.getEmployeeId());
+            SortedIntervalSet intervals = booked.getOrDefault(employee, SortedIntervalSet.EMPTY);
+            if (intervals.overlaps(appointment.getStartAt(), appointment.getEndAt(), null)) {
+                results[i] = ImportResultDTO.rejected(offset + i, ImportResultDTO.Status.CONFLICT, "Slot not available");
+            } else {
+                // Accepted rows get negative ids, so they never replace a booked interval
+                booked.put(employee, intervals.with(-(offset + i + 1L), appointment.getStartAt(), appointment.getEndAt()));
+                accepted.add(i);
+            }
+        }
+    }
+
+    private Map<List<Long>, SortedIntervalSet> findBooked(Long organizationId, List<AppointmentDTO> appointments) {
+        Set<Long> employeeIds = new TreeSet<>();
+        LocalDateTime start = LocalDateTime.MAX;
+        LocalDateTime end = LocalDateTime.MIN;
+        for (AppointmentDTO appointment : appointments) {
+            employeeIds.add(appointment.getEmployeeId());
+            start = appointment.getStartAt().isBefore(start) ? appointment.getStartAt() : start;
+            end = appointment.getEndAt().isAfter(end) ? appointment.getEndAt() : end;
+        }
+        Map<List<Long>, List<SortedIntervalSet.Interval>> intervals = new HashMap<>();
+        for (BookedInterval interval : this.appointmentRangeRepository.findBookedIntervals(organizationId, employeeIds, start, end)) {
+            intervals
+                .computeIfAbsent(List.of(organizationId, interval.getEmployeeId()), employee -> new ArrayList<>())
+                .add(new SortedIntervalSet.Interval(BOOKED_ID, interval.getStartAt(), interval.getEndAt()));
+        }
+        Map<List<Long>, SortedIntervalSet> booked = new HashMap<>();
+        intervals.forEach((employee, employeeIntervals) -> booked.put(employee, SortedIntervalSet.of(employeeIntervals)));
+        return booked;
+    }
+
+    private void insert(int offset, List<AppointmentDTO> chunk, List<Integer> accepted, ImportResultDTO[] results) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        List<Appointment> appointments = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            appointments.add(this.appointmentMapper.toEntity(chunk.get(i)));
+        }
+        this.appointmentRepository.saveAll(appointments);
+        this.appointmentRepository.flush();
+        List<ApnmtEvent<AppointmentEventDTO>> events = new ArrayList<>(appointments.size());
+        for (int j = 0; j < appointments.size(); j++) {
+            Appointment appointment = appointments.get(j);
+            events.add(event(appointment));
+            results[accepted.get(j)] = ImportResultDTO.created(offset + accepted.get(j), appointment.getId());
+        }
+        this.appointmentEventSender.sendAll(TopicConstants.APPOINTMENT_CHANGED_TOPIC, events);
+        // Keeps the persistence context from growing with the import
+        this.entityManager.clear();
+    }
+
+    private ImportResultDTO insertOne(int index, AppointmentDTO appointmentDTO) {
+        try {
+            return this.transactionTemplate.execute(status -> {
+                this.lockInTransaction(List.of(appointmentDTO.getEmployeeId()));
+                // The check of the failed chunk is void, its locks were released with its rollback
+                if (!this.appointmentRangeRepository.findBookedIntervals(
+                    appointmentDTO.getOrganizationId(),
+                    appointmentDTO.getEmployeeId(),
+                    appointmentDTO.getStartAt(),
+                    appointmentDTO.getEndAt()
+                ).isEmpty()) {
+                    return ImportResultDTO.rejected(index, ImportResultDTO.Status.CONFLICT, "Slot not available");
+                }
+                Appointment appointment = this.appointmentRepository.saveAndFlush(this.appointmentMapper.toEntity(appointmentDTO));
+                this.appointmentEventSender.sendAll(TopicConstants.APPOINTMENT_CHANGED_TOPIC, List.of(event(appointment)));
+                return ImportResultDTO.created(index, appointment.getId());
+            });
+        } catch (RuntimeException e) {
+            this.log.debug("Importing row {} failed: {}", index, e.getMessage());
+            return ImportResultDTO.rejected(index, ImportResultDTO.Status.FAILED, mostSpecificMessage(e));
+        }
+    }
+
+    /**
+     * Takes the advisory locks of the employees in cluster mode, the local locks are already held by the caller.
+     */
+    private void lockInTransaction(Collection<Long> employeeIds) {
+        if (this.lockMode == ApplicationProperties.LockMode.CLUSTER) {
+            this.advisoryLocks.lockAll(employeeIds);
+        }
+    }
+
+    private static ApnmtEvent<AppointmentEventDTO> event(Appointment appointment) {
+        AppointmentEventDTO value = new AppointmentEventDTO();
+        value.setId(appointment.getId());
+        value.setOrganizationId(appointment.getOrganizationId());
+        value.setEmployeeId(appointment.getEmployeeId());
+        value.setStartAt(appointment.getStartAt());
+        value.setEndAt(appointment.getEndAt());
+        return new ApnmtEvent<AppointmentEventDTO>().timestamp(LocalDateTime.now()).type(ApnmtEventType.appointmentCreated).value(value);
+    }
+
+    /**
+     * @return why the row cannot be imported, {@code null} if it is complete.
+     */
+    private static String invalid(AppointmentDTO appointment) {
+        if (appointment == null) {
+            return "Malformed row";
+        }
+        if (appointment.getId() != null) {
+            return "A new appointment cannot already have an ID";
+        }
+        if (
+            appointment.getOrganizationId() == null ||
+                appointment.getEmployeeId() == null ||
+                appointment.getStartAt() == null ||
+                appointment.getEndAt() == null
+        ) {
+            return "organizationId, employeeId, startAt and endAt are required";
+        }
+        if (!appointment.getStartAt().isBefore(appointment.getEndAt())) {
+            return "Invalid time range";
+        }
+        return null;
+    }
+
+    private static String mostSpecificMessage(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+}
@@ -0,0 +1,274 @@
+package de.apnmt.appointment.service.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import de.apnmt.appointment.repository.BookedAppointment;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.ApnmtEventType;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory index of the booked intervals per {@code (organizationId, employeeId)}.
+ * <p>
+ * The intervals of an employee are loaded lazily on the first check and are kept current by the {@link de.apnmt.appointment.kafka.AppointmentEventSender} and the change events of the other
+ * replicas afterwards. The query runs without holding any lock of the cache. A snapshot is only stored if no mutation
+ * for the employee arrived while it was loaded, otherwise it answers the current check and is dropped. Only the
+ * appointments that have not ended at load time are read, as projections; a slot starting before that is checked
+ * against a query of its own, which is not stored.
+ * <p>
+ * The index is bounded by {@link ApplicationProperties.Booking#getIntervalIndexMaxSize()} appointments. Every employee
+ * is reloaded {@link ApplicationProperties.Booking#getIntervalIndexTtl()} after it was loaded, however often it was
+ * mutated meanwhile, so an event that never arrived can reject a free slot for at most that long.
+ */
+@Service
+public class AppointmentIntervalIndex {
+
+    private static final int STRIPES = 64;
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentIntervalIndex.class);
+
+    private final AppointmentRangeRepository appointmentRangeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<EmployeeKey, SortedIntervalSet> intervals;
+
+    /**
+     * Employee of every indexed appointment, to find the previous interval of a moved or deleted appointment.
+     */
+    private final Cache<Long, EmployeeKey> locations;
+
+    /**
+     * Mutation counters, striped by employee so that a busy employee does not keep the others from being stored.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public AppointmentIntervalIndex(
+        AppointmentRangeRepository appointmentRangeRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this(appointmentRangeRepository, transactionManager, applicationProperties, Ticker.systemTicker());
+    }
+
+    AppointmentIntervalIndex(
+        AppointmentRangeRepository appointmentRangeRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        Ticker ticker
+    ) {
+        this.appointmentRangeRepository = appointmentRangeRepository;
+        ApplicationProperties.Booking booking = applicationProperties.getBooking();
+        long ttl = booking.getIntervalIndexTtl().toNanos();
+        this.intervals = Caffeine.newBuilder()
+            .maximumWeight(booking.getIntervalIndexMaxSize())
+            .weigher((EmployeeKey key, SortedIntervalSet set) -> set.size() + 1)
+            .expireAfter(new ExpireAfterLoad(ttl))
+            .ticker(ticker)
+            .build();
+        this.locations = Caffeine.newBuilder()
+            .maximumSize(booking.getIntervalIndexMaxSize())
+            .expireAfterWrite(booking.getIntervalIndexTtl())
+            .ticker(ticker)
+            .build();
+        // Joins the transaction of the advisory lock instead of borrowing a second connection while holding it. The
+        // check runs before the booking writes anything, so only committed appointments end up in the index.
+        // Not read-only, so the load is pinned to the primary: a lagging replica would miss recent bookings for the
+        // whole lifetime of the entry.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+    }
+
+    /**
+     * Checks whether the given interval overlaps a booked appointment of the employee.
+     *
+     * @param organizationId the id of the organization.
+     * @param employeeId     the id of the employee.
+     * @param startAt        the start of the requested slot.
+     * @param endAt          the end of the requested slot.
+     * @param excludedId     the id of the appointment being updated, {@code null} on create.
+     * @return {@code true} if the slot is already taken.
+     */
+    public boolean overlaps(Long organizationId, Long employeeId, LocalDateTime startAt, LocalDateTime endAt, Long excludedId) {
+        EmployeeKey key = new EmployeeKey(organizationId, employeeId);
+        SortedIntervalSet set = this.intervals.getIfPresent(key);
+        if (set == null) {
+            long generation = this.generations.get(key.stripe());
+            set = this.load(key, LocalDateTime.now());
+            if (generation == this.generations.get(key.stripe())) {
+                SortedIntervalSet loaded = set;
+                set = this.intervals.asMap().computeIfAbsent(key, k -> loaded);
+            }
+        }
+        if (!set.covers(startAt)) {
+            // A slot in the past, the appointments that ended before the load are not indexed
+            set = this.load(key, startAt);
+        }
+        return set.overlaps(startAt, endAt, excludedId);
+    }
+
+    /**
+     * Applies an appointment event to the index.
+     *
+     * @param event the event published for the appointment.
+     */
+    public void apply(ApnmtEvent<AppointmentEventDTO> event) {
+        AppointmentEventDTO appointment = event.getValue();
+        if (appointment == null || appointment.getId() == null) {
+            return;
+        }
+        if (event.getType() == ApnmtEventType.appointmentDeleted) {
+            remove(appointment);
+        } else if (event.getType() == ApnmtEventType.appointmentCreated) {
+            put(appointment);
+        }
+    }
+
+    /**
+     * Drops the loaded intervals of one employee, they are reloaded on the next check.
+     */
+    public void evict(Long organizationId, Long employeeId) {
+        EmployeeKey key = new EmployeeKey(organizationId, employeeId);
+        this.generations.incrementAndGet(key.stripe());
+        this.intervals.invalidate(key);
+    }
+
+    /**
+     * Drops all loaded intervals.
+     */
+    public void clear() {
+        for (int i = 0; i < this.generations.length(); i++) {
+            this.generations.incrementAndGet(i);
+        }
+        this.intervals.invalidateAll();
+        this.locations.invalidateAll();
+    }
+
+    private void put(AppointmentEventDTO appointment) {
+        if (appointment.getOrganizationId() == null || appointment.getEmployeeId() == null || appointment.getStartAt() == null || appointment.getEndAt() == null) {
+            remove(appointment);
+            return;
+        }
+        long id = appointment.getId();
+        EmployeeKey key = new EmployeeKey(appointment.getOrganizationId(), appointment.getEmployeeId());
+        EmployeeKey previous = this.locations.asMap().put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            this.mutate(previous, set -> set.without(id));
+        }
+        this.mutate(key, set -> set.with(id, appointment.getStartAt(), appointment.getEndAt()));
+    }
+
+    private void remove(AppointmentEventDTO appointment) {
+        long id = appointment.getId();
+        EmployeeKey previous = this.locations.asMap().remove(id);
+        if (previous == null && appointment.getOrganizationId() != null && appointment.getEmployeeId() != null) {
+            // The location may have been evicted before the intervals of the employee
+            previous = new EmployeeKey(appointment.getOrganizationId(), appointment.getEmployeeId());
+        }
+        if (previous != null) {
+            this.mutate(previous, set -> set.without(id));
+        }
+    }
+
+    private void mutate(EmployeeKey key, UnaryOperator<SortedIntervalSet> mutation) {
+        this.generations.incrementAndGet(key.stripe());
+        this.intervals.asMap().computeIfPresent(key, (k, set) -> mutation.apply(set));
+    }
+
+    /**
+     * Loads the intervals of the employee ending after {@code from}.
+     */
+    private SortedIntervalSet load(EmployeeKey key, LocalDateTime from) {
+        this.log.debug("Loading booked intervals for organization {} and employee {} from {}", key.organizationId, key.employeeId, from);
+        List<BookedAppointment> appointments = this.transactionTemplate.execute(
+            status -> this.appointmentRangeRepository.findBookedAppointmentsEndingAfter(key.organizationId, key.employeeId, from)
+        );
+        List<SortedIntervalSet.Interval> loaded = new ArrayList<>();
+        if (appointments != null) {
+            for (BookedAppointment appointment : appointments) {
+                if (appointment.getStartAt() != null) {
+                    loaded.add(new SortedIntervalSet.Interval(appointment.getId(), appointment.getStartAt(), appointment.getEndAt()));
+                    this.locations.put(appointment.getId(), key);
+                }
+            }
+        }
+        return SortedIntervalSet.of(loaded, from);
+    }
+
+    private static final class EmployeeKey {
+
+        private final Long organizationId;
+
+        private final Long employeeId;
+
+        private EmployeeKey(Long organizationId, Long employeeId) {
+            this.organizationId = organizationId;
+            this.employeeId = employeeId;
+        }
+
+        private int stripe() {
+            return Math.floorMod(this.hashCode(), STRIPES);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EmployeeKey)) {
+                return false;
+            }
+            EmployeeKey that = (EmployeeKey) o;
+            return Objects.equals(this.organizationId, that.organizationId) && Objects.equals(this.employeeId, that.employeeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.organizationId, this.employeeId);
+        }
+    }
+
+    /**
+     * Expires an employee a fixed time after it was loaded, mutations do not extend its lifetime.
+     */
+    private static final class ExpireAfterLoad implements Expiry<EmployeeKey, SortedIntervalSet> {
+
+        private final long ttl;
+
+        private ExpireAfterLoad(long ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(EmployeeKey key, SortedIntervalSet value, long currentTime) {
+            return this.ttl;
+        }
+
+        @Override
+        public long expireAfterUpdate(EmployeeKey key, SortedIntervalSet value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(EmployeeKey key, SortedIntervalSet value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package de.apnmt.appointment.service.booking;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-employee locks serializing the check-then-insert path of bookings inside this JVM.
+ * <p>
+ * Every employee with a booking in flight owns its own lock, so bookings for different employees never wait for each
+ * other. A lock is removed again as soon as no thread holds or waits for it, which keeps the map as small as the number
+ * of employees currently being booked.
+ */
+@Service
+public class EmployeeLocks {
+
+    private final ConcurrentMap<Long, Reservation> reservations = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the action while holding the lock of the employee.
+     *
+     * @param employeeId the id of the employee.
+     * @param action     the action to run.
+     * @param <T>        the type of the result.
+     * @return the result of the action.
+     * @throws Throwable if the action fails.
+     */
+    public <T> T runLocked(Long employeeId, LockedAction<T> action) throws Throwable {
+        Reservation reservation = this.reservations.compute(employeeId, (id, current) -> {
+            Reservation result = current == null ? new Reservation() : current;
+            result.users++;
+            return result;
+        });
+        try {
+            reservation.lock.lock();
+            try {
+                return action.run();
+            } finally {
+                reservation.lock.unlock();
+            }
+        } finally {
+            this.reservations.computeIfPresent(employeeId, (id, current) -> --current.users == 0 ? null : current);
+        }
+    }
+
+    /**
+     * Runs the action while holding the locks of all given employees. The locks are taken in ascending order of the
+     * employee ids, so two callers locking overlapping sets of employees cannot deadlock.
+     *
+     * @param employeeIds the ids of the employees.
+     * @param action      the action to run.
+     * @param <T>         the type of the result.
+     * @return the result of the action.
+     * @throws Throwable if the action fails.
+     */
+    public <T> T runLocked(Collection<Long> employeeIds, LockedAction<T> action) throws Throwable {
+        return this.runLocked(new TreeSet<>(employeeIds).iterator(), action);
+    }
+
+    private <T> T runLocked(Iterator<Long> employeeIds, LockedAction<T> action) throws Throwable {
+        if (!employeeIds.hasNext()) {
+            return action.run();
+        }
+        return this.runLocked(employeeIds.next(), () -> this.runLocked(employeeIds, action));
+    }
+
+    /**
+     * @return the number of employees with a booking in flight.
+     */
+    int size() {
+        return this.reservations.size();
+    }
+
+    /**
+     * Action run while holding an employee lock.
+     *
+     * @param <T> the type of the result.
+     */
+    @FunctionalInterface
+    public interface LockedAction<T> {
+        T run() throws Throwable;
+    }
+
+    private static final class Reservation {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // Guarded by the map's per-key lock
+        private int users;
+    }
+}
@@ -0,0 +1,157 @@
+package de.apnmt.appointment.service.booking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable set of appointment intervals of one employee, sorted by start.
+ * <p>
+ * Next to the sorted intervals a prefix maximum of the end timestamps is kept, so an overlap check is a binary search
+ * followed by a single comparison. Mutations return a new instance, readers never need to lock.
+ * <p>
+ * A set may only hold the intervals ending after a point in time, it then only answers checks of candidates starting
+ * at or after that point, see {@link #covers(LocalDateTime)}.
+ */
+final class SortedIntervalSet {
+
+    static final SortedIntervalSet EMPTY = new SortedIntervalSet(new Interval[0], null);
+
+    private static final Comparator<Interval> ORDER = Comparator.comparing((Interval interval) -> interval.startAt).thenComparing(interval -> interval.id);
+
+    private final Interval[] intervals;
+
+    private final LocalDateTime[] maxEnds;
+
+    /**
+     * Intervals ending at or before this point in time are not contained, {@code null} if all intervals are.
+     */
+    private final LocalDateTime from;
+
+    private SortedIntervalSet(Interval[] intervals, LocalDateTime from) {
+        this.intervals = intervals;
+        this.from = from;
+        this.maxEnds = new LocalDateTime[intervals.length];
+        LocalDateTime maxEnd = null;
+        for (int i = 0; i < intervals.length; i++) {
+            if (maxEnd == null || intervals[i].endAt.isAfter(maxEnd)) {
+                maxEnd = intervals[i].endAt;
+            }
+            this.maxEnds[i] = maxEnd;
+        }
+    }
+
+    static SortedIntervalSet of(List<Interval> intervals) {
+        return of(intervals, null);
+    }
+
+    /**
+     * @param intervals the intervals ending after {@code from}.
+     * @param from      the point in time after which all intervals are contained, {@code null} if all intervals are.
+     * @return the set.
+     */
+    static SortedIntervalSet of(List<Interval> intervals, LocalDateTime from) {
+        Interval[] sorted = intervals.toArray(new Interval[0]);
+        Arrays.sort(sorted, ORDER);
+        return new SortedIntervalSet(sorted, from);
+    }
+
+    /**
+     * Returns a copy of this set in which the interval with the given id is replaced by the given bounds.
+     */
+    SortedIntervalSet with(long id, LocalDateTime startAt, LocalDateTime endAt) {
+        List<Interval> copy = new ArrayList<>(this.intervals.length + 1);
+        for (Interval interval : this.intervals) {
+            if (interval.id != id) {
+                copy.add(interval);
+            }
+        }
+        copy.add(new Interval(id, startAt, endAt));
+        return of(copy, this.from);
+    }
+
+    /**
+     * Returns a copy of this set without the interval with the given id.
+     */
+    SortedIntervalSet without(long id) {
+        List<Interval> copy = new ArrayList<>(this.intervals.length);
+        for (Interval interval : this.intervals) {
+            if (interval.id != id) {
+                copy.add(interval);
+            }
+        }
+        return copy.size() == this.intervals.length ? this : new SortedIntervalSet(copy.toArray(new Interval[0]), this.from);
+    }
+
+    /**
+     * Checks whether {@code [startAt, endAt)} overlaps any interval of this set. Intervals that only touch are not
+     * considered overlapping.
+     *
+     * @param startAt    inclusive start of the candidate.
+     * @param endAt      exclusive end of the candidate.
+     * @param excludedId id of an interval to ignore, e.g. the appointment being updated; may be {@code null}.
+     * @return {@code true} if at least one interval overlaps.
+     */
+    boolean overlaps(LocalDateTime startAt, LocalDateTime endAt, Long excludedId) {
+        int last = lastStartingBefore(endAt);
+        if (last < 0 || !this.maxEnds[last].isAfter(startAt)) {
+            return false;
+        }
+        if (excludedId == null) {
+            return true;
+        }
+        for (int i = last; i >= 0 && this.maxEnds[i].isAfter(startAt); i--) {
+            Interval interval = this.intervals[i];
+            if (interval.id != excludedId && interval.endAt.isAfter(startAt)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether this set answers the overlap check of a candidate: an interval that is not contained ended before
+     * the candidate starts.
+     *
+     * @param startAt inclusive start of the candidate.
+     * @return {@code true} if {@link #overlaps(LocalDateTime, LocalDateTime, Long)} sees every overlapping interval.
+     */
+    boolean covers(LocalDateTime startAt) {
+        return this.from == null || !startAt.isBefore(this.from);
+    }
+
+    int size() {
+        return this.intervals.length;
+    }
+
+    private int lastStartingBefore(LocalDateTime endAt) {
+        int low = 0;
+        int high = this.intervals.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.intervals[mid].startAt.isBefore(endAt)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    static final class Interval {
+
+        private final long id;
+
+        private final LocalDateTime startAt;
+
+        private final LocalDateTime endAt;
+
+        Interval(long id, LocalDateTime startAt, LocalDateTime endAt) {
+            this.id = id;
+            this.startAt = startAt;
+            this.endAt = endAt;
+        }
+    }
+}
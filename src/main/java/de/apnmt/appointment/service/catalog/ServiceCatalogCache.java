@@ -0,0 +1,207 @@
+package de.apnmt.appointment.service.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.apnmt.appointment.common.service.dto.ServiceDTO;
+import de.apnmt.common.event.value.ServiceEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import tech.jhipster.config.JHipsterProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of the service catalog, holding the service lists per organization and the services by id.
+ * <p>
+ * Size and time to live are taken from {@code jhipster.cache.caffeine}. Entries are invalidated by the
+ * {@link de.apnmt.appointment.kafka.ServiceEventSender} once a change of a service has been committed. A response
+ * loaded while an invalidation happened is dropped again, so the cache never serves data older than the last committed
+ * change.
+ */
+@Service
+public class ServiceCatalogCache {
+
+    private final Logger log = LoggerFactory.getLogger(ServiceCatalogCache.class);
+
+    /**
+     * Responses of the service lists, keyed by the organization and the remaining arguments of the request, e.g. the
+     * requested page. Every response counts against the maximum size on its own.
+     */
+    private final Cache<OrganizationKey, ResponseEntity<?>> organizations;
+
+    private final Cache<Long, ResponseEntity<?>> services;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public ServiceCatalogCache(JHipsterProperties jHipsterProperties, MeterRegistry meterRegistry) {
+        JHipsterProperties.Cache.Caffeine caffeine = jHipsterProperties.getCache().getCaffeine();
+        this.organizations = build(caffeine);
+        this.services = build(caffeine);
+        CaffeineCacheMetrics.monitor(meterRegistry, this.organizations, "serviceCatalog.organizations");
+        CaffeineCacheMetrics.monitor(meterRegistry, this.services, "serviceCatalog.services");
+    }
+
+    private static <K, V> Cache<K, V> build(JHipsterProperties.Cache.Caffeine caffeine) {
+        return Caffeine.newBuilder()
+            .maximumSize(caffeine.getMaxEntries())
+            .expireAfterWrite(Duration.ofSeconds(caffeine.getTimeToLiveSeconds()))
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Get a response of the service list of an organization, loading it on a miss.
+     *
+     * @param organizationId the id of the organization.
+     * @param arguments      the remaining arguments of the request.
+     * @param loader         loads the response.
+     * @return the response.
+     * @throws Throwable if the loader fails.
+     */
+    public ResponseEntity<?> getOrganization(Long organizationId, List<Object> arguments, Loader loader) throws Throwable {
+        OrganizationKey key = new OrganizationKey(organizationId, arguments);
+        ResponseEntity<?> response = this.organizations.getIfPresent(key);
+        if (response != null) {
+            return response;
+        }
+        long current = this.generation.get();
+        response = loader.load();
+        if (isCacheable(response)) {
+            this.organizations.put(key, response);
+            if (current != this.generation.get()) {
+                this.organizations.invalidate(key);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Get the response of a service lookup by id, loading it on a miss.
+     *
+     * @param id     the id of the service.
+     * @param loader loads the response.
+     * @return the response.
+     * @throws Throwable if the loader fails.
+     */
+    public ResponseEntity<?> getService(Long id, Loader loader) throws Throwable {
+        ResponseEntity<?> response = this.services.getIfPresent(id);
+        if (response != null) {
+            return response;
+        }
+        long current = this.generation.get();
+        response = loader.load();
+        if (isCacheable(response)) {
+            this.services.put(id, response);
+            if (current != this.generation.get()) {
+                this.services.invalidate(id);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Invalidates the entries affected by a changed service: the service itself, the list of its organization and any
+     * other cached list still containing it, e.g. the list of its previous organization.
+     *
+     * @param service the changed service.
+     */
+    public void evict(ServiceEventDTO service) {
+        if (service == null || service.getId() == null) {
+            this.evictAll();
+            return;
+        }
+        this.log.debug("Evict service {} of organization {} from the catalog", service.getId(), service.getOrganizationId());
+        this.generation.incrementAndGet();
+        this.services.invalidate(service.getId());
+        Set<Long> organizationIds = new HashSet<>();
+        if (service.getOrganizationId() != null) {
+            organizationIds.add(service.getOrganizationId());
+        }
+        for (Map.Entry<OrganizationKey, ResponseEntity<?>> entry : this.organizations.asMap().entrySet()) {
+            if (contains(entry.getValue(), service.getId())) {
+                organizationIds.add(entry.getKey().organizationId);
+            }
+        }
+        this.organizations.asMap().keySet().removeIf(key -> organizationIds.contains(key.organizationId));
+    }
+
+    /**
+     * Invalidates the whole catalog.
+     */
+    public void evictAll() {
+        this.log.debug("Evict the whole service catalog");
+        this.generation.incrementAndGet();
+        this.services.invalidateAll();
+        this.organizations.invalidateAll();
+    }
+
+    /**
+     * @return the number of cached service list responses.
+     */
+    long organizationResponses() {
+        this.organizations.cleanUp();
+        return this.organizations.estimatedSize();
+    }
+
+    private static boolean isCacheable(ResponseEntity<?> response) {
+        return response != null && response.getStatusCode().is2xxSuccessful();
+    }
+
+    private static boolean contains(ResponseEntity<?> response, Long id) {
+        if (response.getBody() instanceof List) {
+            for (Object element : (List<?>) response.getBody()) {
+                if (element instanceof ServiceDTO && Objects.equals(((ServiceDTO) element).getId(), id)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loads a response of the catalog on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        ResponseEntity<?> load() throws Throwable;
+    }
+
+    private static final class OrganizationKey {
+
+        private final Long organizationId;
+
+        private final List<Object> arguments;
+
+        private OrganizationKey(Long organizationId, List<Object> arguments) {
+            this.organizationId = organizationId;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof OrganizationKey)) {
+                return false;
+            }
+            OrganizationKey that = (OrganizationKey) o;
+            return Objects.equals(this.organizationId, that.organizationId) && Objects.equals(this.arguments, that.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.organizationId, this.arguments);
+        }
+    }
+}
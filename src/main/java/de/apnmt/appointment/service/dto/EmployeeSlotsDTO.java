@@ -0,0 +1,67 @@
+package de.apnmt.appointment.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The free slots of one employee.
+ */
+public class EmployeeSlotsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long employeeId;
+
+    private List<SlotDTO> slots = new ArrayList<>();
+
+    public EmployeeSlotsDTO() {}
+
+    public EmployeeSlotsDTO(Long employeeId, List<SlotDTO> slots) {
+        this.employeeId = employeeId;
+        this.slots = slots;
+    }
+
+    public Long getEmployeeId() {
+        return this.employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public List<SlotDTO> getSlots() {
+        return this.slots;
+    }
+
+    public void setSlots(List<SlotDTO> slots) {
+        this.slots = slots;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EmployeeSlotsDTO)) {
+            return false;
+        }
+        EmployeeSlotsDTO that = (EmployeeSlotsDTO) o;
+        return Objects.equals(this.employeeId, that.employeeId) && Objects.equals(this.slots, that.slots);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.employeeId, this.slots);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeSlotsDTO{" +
+            "employeeId=" + getEmployeeId() +
+            ", slots=" + getSlots() +
+            "}";
+    }
+}
@@ -0,0 +1,103 @@
+package de.apnmt.appointment.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of one row of a bulk import.
+ */
+public class ImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String message;
+
+    public ImportResultDTO() {}
+
+    public ImportResultDTO(int index, Long id, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static ImportResultDTO created(int index, Long id) {
+        return new ImportResultDTO(index, id, Status.CREATED, null);
+    }
+
+    public static ImportResultDTO rejected(int index, Status status, String message) {
+        return new ImportResultDTO(index, null, status, message);
+    }
+
+    /**
+     * @return the position of the row in the import, starting at 0.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    /**
+     * @return the id of the created appointment, {@code null} if the row was rejected.
+     */
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return this.status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return this.message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResultDTO{" +
+            "index=" + this.index +
+            ", id=" + this.id +
+            ", status=" + this.status +
+            ", message='" + this.message + "'" +
+            "}";
+    }
+
+    public enum Status {
+        /**
+         * The appointment has been created.
+         */
+        CREATED,
+        /**
+         * The slot overlaps an existing appointment or an earlier row of the import.
+         */
+        CONFLICT,
+        /**
+         * The row lacks a required field or its range is empty.
+         */
+        INVALID,
+        /**
+         * The row could not be stored.
+         */
+        FAILED,
+    }
+}
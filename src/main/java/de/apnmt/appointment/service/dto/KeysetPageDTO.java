@@ -0,0 +1,40 @@
+package de.apnmt.appointment.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A page of a keyset paginated listing.
+ */
+public class KeysetPageDTO<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    public KeysetPageDTO(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return this.content;
+    }
+
+    /**
+     * @return the opaque cursor of the next page, {@code null} if this is the last page.
+     */
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPageDTO{" +
+            "size=" + this.content.size() +
+            ", nextCursor='" + this.nextCursor + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,66 @@
+package de.apnmt.appointment.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A free window of an employee in which an appointment can be booked.
+ */
+public class SlotDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDateTime startAt;
+
+    private LocalDateTime endAt;
+
+    public SlotDTO() {}
+
+    public SlotDTO(LocalDateTime startAt, LocalDateTime endAt) {
+        this.startAt = startAt;
+        this.endAt = endAt;
+    }
+
+    public LocalDateTime getStartAt() {
+        return this.startAt;
+    }
+
+    public void setStartAt(LocalDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public LocalDateTime getEndAt() {
+        return this.endAt;
+    }
+
+    public void setEndAt(LocalDateTime endAt) {
+        this.endAt = endAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SlotDTO)) {
+            return false;
+        }
+        SlotDTO slotDTO = (SlotDTO) o;
+        return Objects.equals(this.startAt, slotDTO.startAt) && Objects.equals(this.endAt, slotDTO.endAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.startAt, this.endAt);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SlotDTO{" +
+            "startAt='" + getStartAt() + "'" +
+            ", endAt='" + getEndAt() + "'" +
+            "}";
+    }
+}
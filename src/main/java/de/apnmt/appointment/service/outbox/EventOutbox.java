@@ -0,0 +1,124 @@
+package de.apnmt.appointment.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.domain.OutboxEvent;
+import de.apnmt.appointment.kafka.EventCoalescer;
+import de.apnmt.appointment.repository.OutboxEventRepository;
+import de.apnmt.common.event.ApnmtEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox for the change events of this service.
+ * <p>
+ * If the outbox is enabled, events are stored in the transaction of the change they describe, so they are published if
+ * and only if the change is committed. Publishing is done by the {@link OutboxRelay}, which is woken up after every
+ * commit that appended events and additionally polls the outbox. Events raised outside of a transaction, or while the
+ * outbox is disabled, are published directly by the {@link EventCoalescer}.
+ */
+@Service
+public class EventOutbox {
+
+    private final Logger log = LoggerFactory.getLogger(EventOutbox.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final OutboxRelay outboxRelay;
+
+    private final TaskExecutor taskExecutor;
+
+    private final EventCoalescer eventCoalescer;
+
+    private final ApplicationProperties.Outbox properties;
+
+    public EventOutbox(
+        OutboxEventRepository outboxEventRepository,
+        ObjectMapper objectMapper,
+        OutboxRelay outboxRelay,
+        @Qualifier("taskExecutor") TaskExecutor taskExecutor,
+        EventCoalescer eventCoalescer,
+        ApplicationProperties applicationProperties
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.outboxRelay = outboxRelay;
+        this.taskExecutor = taskExecutor;
+        this.eventCoalescer = eventCoalescer;
+        this.properties = applicationProperties.getOutbox();
+    }
+
+    /**
+     * Publishes an event once the current transaction commits, or directly if there is none.
+     *
+     * @param topic the topic to publish the event to.
+     * @param event the event.
+     */
+    public void publish(String topic, ApnmtEvent<?> event) {
+        if (this.properties.isEnabled() && TransactionSynchronizationManager.isActualTransactionActive()) {
+            this.appendAll(topic, List.of(event));
+        } else {
+            this.eventCoalescer.publish(topic, event);
+        }
+    }
+
+    /**
+     * Publishes several events once the current transaction commits, or directly if there is none.
+     *
+     * @param topic  the topic to publish the events to.
+     * @param events the events in publishing order.
+     */
+    public void publishAll(String topic, List<? extends ApnmtEvent<?>> events) {
+        if (this.properties.isEnabled() && TransactionSynchronizationManager.isActualTransactionActive()) {
+            this.appendAll(topic, events);
+        } else {
+            events.forEach(event -> this.eventCoalescer.publish(topic, event));
+        }
+    }
+
+    /**
+     * Appends events to the outbox in the current transaction, the relay is woken up once after the commit. Only called
+     * by the publish methods after they checked that a transaction is active.
+     */
+    private void appendAll(String topic, List<? extends ApnmtEvent<?>> events) {
+        this.log.debug("Append {} events for topic {} to the outbox", events.size(), topic);
+        Instant now = Instant.now();
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        for (ApnmtEvent<?> event : events) {
+            outboxEvents.add(
+                new OutboxEvent()
+                    .topic(topic)
+                    .valueType(event.getValue() == null ? Object.class.getName() : event.getValue().getClass().getName())
+                    .payload(this.serialize(event))
+                    .createdAt(now)
+            );
+        }
+        this.outboxEventRepository.saveAll(outboxEvents);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                EventOutbox.this.taskExecutor.execute(EventOutbox.this.outboxRelay::relay);
+            }
+        });
+    }
+
+    private String serialize(ApnmtEvent<?> event) {
+        try {
+            return this.objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event " + event + " cannot be serialized", e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package de.apnmt.appointment.service.outbox;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.domain.OutboxEvent;
+import de.apnmt.appointment.kafka.EventCoalescer;
+import de.apnmt.appointment.kafka.EventPublisher;
+import de.apnmt.appointment.repository.OutboxEventRepository;
+import de.apnmt.common.event.ApnmtEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the outbox to Kafka in batches, in the order of the event ids.
+ * <p>
+ * A batch is locked, published and deleted in one transaction. The transaction only commits after the broker
+ * acknowledged every event of the batch, otherwise the batch stays in the outbox and is published again later.
+ * Delivery is therefore at-least-once: if the commit fails after the broker acknowledged the batch, its events are
+ * published again, so consumers must tolerate duplicates.
+ * <p>
+ * The ids are assigned one at a time when the events are written. With the cluster lock mode, the bookings of an
+ * employee are written under its advisory lock, so their ids follow the commit order. Events of concurrent
+ * transactions that share no lock may commit out of id order, and are then published after events with higher ids.
+ * <p>
+ * With a {@link ApplicationProperties.Kafka#getCoalesceWindow() coalesce window} only events older than the window are
+ * relayed, and of several events of the same aggregate in a batch only the latest one is published. The others are
+ * deleted unpublished.
+ */
+@Service
+public class OutboxRelay {
+
+    private final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final EventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final Duration coalesceWindow;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    public OutboxRelay(
+        OutboxEventRepository outboxEventRepository,
+        EventPublisher eventPublisher,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getOutbox();
+        this.coalesceWindow = applicationProperties.getKafka().getCoalesceWindow();
+    }
+
+    /**
+     * Publishes all events of the outbox. Calls arriving while the outbox is drained by this instance make the running
+     * relay drain once more instead of waiting.
+     */
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval:PT1S}")
+    public void relay() {
+        if (!this.properties.isEnabled()) {
+            return;
+        }
+        this.pending.set(true);
+        while (this.pending.get() && this.running.compareAndSet(false, true)) {
+            try {
+                this.pending.set(false);
+                this.drain();
+            } catch (RuntimeException e) {
+                this.log.warn("Failed to relay the outbox, retrying with the next poll: {}", e.getMessage());
+                return;
+            } finally {
+                this.running.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        int published;
+        do {
+            Integer count = this.transactionTemplate.execute(status -> this.publishBatch());
+            published = count == null ? 0 : count;
+        } while (published == this.properties.getBatchSize());
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> batch = this.due(this.outboxEventRepository.findByOrderByIdAsc(PageRequest.of(0, this.properties.getBatchSize())));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<Object, Map.Entry<String, ApnmtEvent<?>>> events = new LinkedHashMap<>();
+        for (OutboxEvent outboxEvent : batch) {
+            ApnmtEvent<?> event = this.deserialize(outboxEvent);
+            List<Object> aggregate = EventCoalescer.aggregate(outboxEvent.getTopic(), event);
+            // Events without an aggregate are keyed by their own row, so they are never collapsed
+            Object key = aggregate == null || this.coalesceWindow.isZero() ? outboxEvent.getId() : aggregate;
+            events.remove(key);
+            events.put(key, Map.entry(outboxEvent.getTopic(), event));
+        }
+        List<ListenableFuture<?>> sent = new ArrayList<>(events.size());
+        for (Map.Entry<String, ApnmtEvent<?>> event : events.values()) {
+            sent.add(this.eventPublisher.send(event.getKey(), event.getValue()));
+        }
+        for (ListenableFuture<?> future : sent) {
+            try {
+                future.get(this.properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while publishing the outbox", e);
+            } catch (Exception e) {
+                throw new IllegalStateException("Publishing the outbox failed", e);
+            }
+        }
+        this.outboxEventRepository.deleteAllInBatch(batch);
+        this.log.debug("Published {} of {} events from the outbox", sent.size(), batch.size());
+        return batch.size();
+    }
+
+    /**
+     * @param batch the oldest events of the outbox.
+     * @return the leading events of the batch older than the coalesce window.
+     */
+    private List<OutboxEvent> due(List<OutboxEvent> batch) {
+        if (this.coalesceWindow.isZero()) {
+            return batch;
+        }
+        Instant due = Instant.now().minus(this.coalesceWindow);
+        int count = 0;
+        while (count < batch.size() && !batch.get(count).getCreatedAt().isAfter(due)) {
+            count++;
+        }
+        return batch.subList(0, count);
+    }
+
+    private ApnmtEvent<?> deserialize(OutboxEvent outboxEvent) {
+        try {
+            JavaType valueType = this.objectMapper.getTypeFactory().constructFromCanonical(outboxEvent.getValueType());
+            JavaType eventType = this.objectMapper.getTypeFactory().constructParametricType(ApnmtEvent.class, valueType);
+            return this.objectMapper.readValue(outboxEvent.getPayload(), eventType);
+        } catch (Exception e) {
+            throw new IllegalStateException("Outbox event " + outboxEvent.getId() + " cannot be deserialized", e);
+        }
+    }
+}
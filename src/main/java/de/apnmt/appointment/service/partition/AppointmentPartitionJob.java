@@ -0,0 +1,150 @@
+package de.apnmt.appointment.service.partition;
+
+import de.apnmt.appointment.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Creates the monthly partitions of the appointment table ahead of time.
+ * <p>
+ * Runs on startup and daily afterwards, and creates the partition of the current month and of the next
+ * {@link ApplicationProperties.Partitioning#getMonthsAhead()} months unless they exist. Appointments booked further
+ * ahead are stored in the default partition. PostgreSQL refuses to create a partition while the default partition
+ * holds rows of its range, so in that case the default partition is detached, the new partition is created, the rows
+ * are moved and the default partition is attached again, all in one transaction. Does nothing unless the table has
+ * been partitioned by the {@code appointment-partitioning} changelog.
+ */
+@Service
+public class AppointmentPartitionJob {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String DEFAULT_PARTITION = "appointment_default";
+
+    private static final String PARTITIONED_QUERY =
+        "SELECT count(*) FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid " +
+        "WHERE c.relname = 'appointment' AND pg_table_is_visible(c.oid)";
+
+    private static final String EXISTS_QUERY = "SELECT to_regclass(?) IS NOT NULL";
+
+    private static final String DEFAULT_ROWS_QUERY =
+        "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE start_at >= ? AND start_at < ?)";
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentPartitionJob.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Partitioning properties;
+
+    public AppointmentPartitionJob(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getPartitioning();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.createPartitions();
+    }
+
+    /**
+     * Creates the missing partitions up to {@link ApplicationProperties.Partitioning#getMonthsAhead()} months ahead.
+     */
+    @Scheduled(cron = "${application.partitioning.cron:0 0 3 * * *}")
+    public void createPartitions() {
+        if (!this.properties.isEnabled()) {
+            return;
+        }
+        try {
+            Integer partitioned = this.jdbcTemplate.queryForObject(PARTITIONED_QUERY, Integer.class);
+            if (partitioned == null || partitioned == 0) {
+                this.log.warn("Partitioning is enabled, but the appointment table is not partitioned");
+                return;
+            }
+        } catch (DataAccessException e) {
+            this.log.warn("Failed to check the appointment partitions, retrying with the next run: {}", e.getMessage());
+            return;
+        }
+        YearMonth from = YearMonth.now();
+        for (int i = 0; i <= Math.max(0, this.properties.getMonthsAhead()); i++) {
+            YearMonth month = from.plusMonths(i);
+            // A failing month must not keep the later months from being created
+            try {
+                this.createPartition(month);
+            } catch (DataAccessException | TransactionException e) {
+                this.log.warn("Failed to create the appointment partition of {}, retrying with the next run: {}", month, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates the partition of the month unless it exists.
+     *
+     * @param month the month.
+     * @return {@code true} if the partition has been created.
+     */
+    boolean createPartition(YearMonth month) {
+        Boolean created = this.transactionTemplate.execute(status -> {
+            if (Boolean.TRUE.equals(this.jdbcTemplate.queryForObject(EXISTS_QUERY, Boolean.class, partitionName(month)))) {
+                return false;
+            }
+            Boolean rowsInDefault = this.jdbcTemplate.queryForObject(
+                DEFAULT_ROWS_QUERY,
+                Boolean.class,
+                month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay()
+            );
+            for (String statement : statements(month, Boolean.TRUE.equals(rowsInDefault))) {
+                this.log.debug("Creating appointment partition: {}", statement);
+                this.jdbcTemplate.execute(statement);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(created);
+    }
+
+    /**
+     * @param month           the month of the partition.
+     * @param moveFromDefault whether the default partition holds rows of the month that have to be moved.
+     * @return the statements creating the partition of the month.
+     */
+    static List<String> statements(YearMonth month, boolean moveFromDefault) {
+        String range = "start_at >= '" + month.atDay(1) + "' AND start_at < '" + month.plusMonths(1).atDay(1) + "'";
+        String create =
+            "CREATE TABLE " + partitionName(month) + " PARTITION OF appointment " +
+            "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        if (!moveFromDefault) {
+            return List.of(create);
+        }
+        return List.of(
+            "ALTER TABLE appointment DETACH PARTITION " + DEFAULT_PARTITION,
+            create,
+            "INSERT INTO appointment SELECT * FROM " + DEFAULT_PARTITION + " WHERE " + range,
+            "DELETE FROM " + DEFAULT_PARTITION + " WHERE " + range,
+            "ALTER TABLE appointment ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT"
+        );
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "appointment_" + month.format(SUFFIX);
+    }
+}
@@ -0,0 +1,60 @@
+package de.apnmt.appointment.web.rest;
+
+import de.apnmt.appointment.service.AppointmentExportService;
+import de.apnmt.appointment.web.rest.errors.BookingErrors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST controller for exporting appointments.
+ */
+@RestController
+@RequestMapping("/api")
+public class AppointmentExportResource {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentExportResource.class);
+
+    private final AppointmentExportService appointmentExportService;
+
+    public AppointmentExportResource(AppointmentExportService appointmentExportService) {
+        this.appointmentExportService = appointmentExportService;
+    }
+
+    /**
+     * {@code GET  /appointments/organization/:organizationId/export} : export the appointments of an organization
+     * starting in a time range.
+     * <p>
+     * The appointments are streamed as newline delimited JSON ordered by start, the response is not buffered.
+     *
+     * @param organizationId the id of the organization.
+     * @param start          the start of the range, inclusive.
+     * @param end            the end of the range, exclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and one appointment per line in body,
+     * or with status {@code 400 (Bad Request)} if the range is invalid.
+     */
+    @GetMapping(value = "/appointments/organization/{organizationId}/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+        @PathVariable Long organizationId,
+        @RequestParam LocalDateTime start,
+        @RequestParam LocalDateTime end
+    ) {
+        this.log.debug("REST request to export Appointments of organization {} from {} to {}", organizationId, start, end);
+        if (!start.isBefore(end)) {
+            throw BookingErrors.invalidRange();
+        }
+        StreamingResponseBody body = out -> this.appointmentExportService.export(organizationId, start, end, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
+    }
+}
@@ -0,0 +1,171 @@
+package de.apnmt.appointment.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.service.booking.AppointmentImportService;
+import de.apnmt.appointment.service.dto.ImportResultDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * REST controller for importing appointments in bulk.
+ */
+@RestController
+@RequestMapping("/api")
+public class AppointmentImportResource {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(AppointmentExportResource.APPLICATION_NDJSON_VALUE);
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentImportResource.class);
+
+    private final AppointmentImportService appointmentImportService;
+
+    private final ObjectMapper objectMapper;
+
+    public AppointmentImportResource(AppointmentImportService appointmentImportService, ObjectMapper objectMapper) {
+        this.appointmentImportService = appointmentImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@code POST  /appointments/bulk} : create appointments in bulk.
+     * <p>
+     * The body is either a JSON array of appointments or newline delimited JSON with one appointment per line. It is
+     * read while the appointments are imported, so it is never held in memory as a whole. Rows that are malformed,
+     * incomplete or overlap another appointment are rejected without aborting the import. A malformed line of newline
+     * delimited JSON only rejects that line. A syntax error in a JSON array is rejected as one row and ends the
+     * import, as the rows after it cannot be told apart anymore.
+     *
+     * @param request the request with the appointments to create in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the outcome of every row in body.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/appointments/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, AppointmentExportResource.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<ImportResultDTO>> importAppointments(HttpServletRequest request) throws IOException {
+        this.log.debug("REST request to import Appointments");
+        ObjectReader reader = this.objectMapper.readerFor(AppointmentDTO.class);
+        if (request.getContentType() != null && MediaType.parseMediaType(request.getContentType()).isCompatibleWith(APPLICATION_NDJSON)) {
+            try (BufferedReader lines = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+                return ResponseEntity.ok(this.appointmentImportService.importAppointments(readLines(lines, reader)));
+            }
+        }
+        try (MappingIterator<AppointmentDTO> appointments = reader.readValues(request.getInputStream())) {
+            return ResponseEntity.ok(this.appointmentImportService.importAppointments(skipMalformed(appointments)));
+        }
+    }
+
+    /**
+     * Parses every non-blank line on its own, malformed lines are reported as {@code null}.
+     */
+    private static Iterator<AppointmentDTO> readLines(BufferedReader lines, ObjectReader reader) {
+        return new Iterator<>() {
+            private String line;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (this.line == null || this.line.isBlank()) {
+                        this.line = lines.readLine();
+                        if (this.line == null) {
+                            return false;
+                        }
+                    }
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public AppointmentDTO next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String current = this.line;
+                this.line = null;
+                try {
+                    return reader.readValue(current);
+                } catch (JsonProcessingException e) {
+                    return null;
+                }
+            }
+        };
+    }
+
+    /**
+     * Reports malformed rows as {@code null}. The iterator skips to the next row after a row that does not map to an
+     * appointment, and ends after a syntax error.
+     */
+    private static Iterator<AppointmentDTO> skipMalformed(MappingIterator<AppointmentDTO> appointments) {
+        return new Iterator<>() {
+            private boolean broken;
+
+            private boolean reported;
+
+            @Override
+            public boolean hasNext() {
+                if (this.broken) {
+                    return !this.reported;
+                }
+                try {
+                    return appointments.hasNext();
+                } catch (RuntimeException e) {
+                    this.broken = isMalformed(e);
+                    if (!this.broken) {
+                        throw e;
+                    }
+                    return true;
+                }
+            }
+
+            @Override
+            public AppointmentDTO next() {
+                if (this.broken) {
+                    if (this.reported) {
+                        throw new NoSuchElementException();
+                    }
+                    this.reported = true;
+                    return null;
+                }
+                try {
+                    return appointments.next();
+                } catch (RuntimeJsonMappingException e) {
+                    return null;
+                } catch (RuntimeException e) {
+                    this.broken = isMalformed(e);
+                    if (!this.broken) {
+                        throw e;
+                    }
+                    this.reported = true;
+                    return null;
+                }
+            }
+        };
+    }
+
+    /**
+     * {@link MappingIterator} wraps parse errors in unchecked exceptions.
+     */
+    private static boolean isMalformed(RuntimeException e) {
+        return e instanceof RuntimeJsonMappingException || e.getCause() instanceof JsonProcessingException;
+    }
+}
@@ -0,0 +1,70 @@
+package de.apnmt.appointment.web.rest;
+
+import de.apnmt.appointment.service.BulkDeleteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for deleting all appointments, services or customers of an organization.
+ * <p>
+ * The number of deleted rows is returned in the {@value #DELETED_COUNT_HEADER} header.
+ */
+@RestController
+@RequestMapping("/api")
+public class BulkDeleteResource {
+
+    public static final String DELETED_COUNT_HEADER = "X-Deleted-Count";
+
+    private final Logger log = LoggerFactory.getLogger(BulkDeleteResource.class);
+
+    private final BulkDeleteService bulkDeleteService;
+
+    public BulkDeleteResource(BulkDeleteService bulkDeleteService) {
+        this.bulkDeleteService = bulkDeleteService;
+    }
+
+    /**
+     * {@code DELETE  /appointments/organization/:organizationId} : delete all appointments of an organization.
+     *
+     * @param organizationId the id of the organization.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/appointments/organization/{organizationId}")
+    public ResponseEntity<Void> deleteAppointments(@PathVariable Long organizationId) {
+        this.log.debug("REST request to delete all Appointments of organization {}", organizationId);
+        return noContent(this.bulkDeleteService.deleteAppointments(organizationId));
+    }
+
+    /**
+     * {@code DELETE  /services/organization/:organizationId} : delete all services of an organization.
+     *
+     * @param organizationId the id of the organization.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/services/organization/{organizationId}")
+    public ResponseEntity<Void> deleteServices(@PathVariable Long organizationId) {
+        this.log.debug("REST request to delete all Services of organization {}", organizationId);
+        return noContent(this.bulkDeleteService.deleteServices(organizationId));
+    }
+
+    /**
+     * {@code DELETE  /customers/organization/:organizationId} : delete all customers of an organization.
+     *
+     * @param organizationId the id of the organization.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/customers/organization/{organizationId}")
+    public ResponseEntity<Void> deleteCustomers(@PathVariable Long organizationId) {
+        this.log.debug("REST request to delete all Customers of organization {}", organizationId);
+        return noContent(this.bulkDeleteService.deleteCustomers(organizationId));
+    }
+
+    private static ResponseEntity<Void> noContent(long deleted) {
+        return ResponseEntity.noContent().header(DELETED_COUNT_HEADER, Long.toString(deleted)).build();
+    }
+}
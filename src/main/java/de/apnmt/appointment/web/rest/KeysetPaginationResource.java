@@ -0,0 +1,90 @@
+package de.apnmt.appointment.web.rest;
+
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.common.service.dto.CustomerDTO;
+import de.apnmt.appointment.service.KeysetPaginationService;
+import de.apnmt.appointment.service.dto.KeysetPageDTO;
+import de.apnmt.appointment.web.rest.errors.PaginationErrors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * REST controller for the keyset (seek) paginated organization listings.
+ * <p>
+ * The listings return the rows of a page in the body. If there are more rows, the opaque cursor of the next page is
+ * returned in the {@value #NEXT_CURSOR_HEADER} header and as {@code next} link in the {@code Link} header.
+ */
+@RestController
+@RequestMapping("/api")
+public class KeysetPaginationResource {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String DEFAULT_SIZE = "20";
+
+    private final Logger log = LoggerFactory.getLogger(KeysetPaginationResource.class);
+
+    private final KeysetPaginationService keysetPaginationService;
+
+    public KeysetPaginationResource(KeysetPaginationService keysetPaginationService) {
+        this.keysetPaginationService = keysetPaginationService;
+    }
+
+    /**
+     * {@code GET  /appointments/organization/:organizationId/seek} : get a page of the appointments of an organization.
+     *
+     * @param organizationId the id of the organization.
+     * @param cursor         the cursor of the previous page, omitted for the first page.
+     * @param size           the maximal number of appointments.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the appointments ordered by start in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is malformed.
+     */
+    @GetMapping("/appointments/organization/{organizationId}/seek")
+    public ResponseEntity<List<AppointmentDTO>> getAppointmentsAfter(
+        @PathVariable Long organizationId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = DEFAULT_SIZE) int size
+    ) {
+        this.log.debug("REST request to get a page of Appointments of organization {} after {}", organizationId, cursor);
+        return ok(this.keysetPaginationService.findAppointments(organizationId, cursor, size).orElseThrow(PaginationErrors::invalidCursor));
+    }
+
+    /**
+     * {@code GET  /customers/organization/:organizationId/seek} : get a page of the customers of an organization.
+     *
+     * @param organizationId the id of the organization.
+     * @param cursor         the cursor of the previous page, omitted for the first page.
+     * @param size           the maximal number of customers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the customers ordered by id in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is malformed.
+     */
+    @GetMapping("/customers/organization/{organizationId}/seek")
+    public ResponseEntity<List<CustomerDTO>> getCustomersAfter(
+        @PathVariable Long organizationId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = DEFAULT_SIZE) int size
+    ) {
+        this.log.debug("REST request to get a page of Customers of organization {} after {}", organizationId, cursor);
+        return ok(this.keysetPaginationService.findCustomers(organizationId, cursor, size).orElseThrow(PaginationErrors::invalidCursor));
+    }
+
+    private static <T> ResponseEntity<List<T>> ok(KeysetPageDTO<T> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+            String next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("cursor", page.getNextCursor()).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+}
@@ -0,0 +1,91 @@
+package de.apnmt.appointment.web.rest;
+
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.repository.AppointmentRow;
+import de.apnmt.appointment.repository.ReactiveAppointmentRepository;
+import de.apnmt.appointment.web.rest.errors.BookingErrors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST controller streaming the appointments of a time range without blocking a request thread.
+ * <p>
+ * The endpoints share their paths with the appointment REST controller and are selected by requesting
+ * {@code application/x-ndjson} or {@code text/event-stream}. The appointments are written one by one as the client
+ * reads them, the request thread is released while the database is queried.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(prefix = "application.reactive-read", name = "enabled", havingValue = "true")
+public class ReactiveAppointmentResource {
+
+    private final Logger log = LoggerFactory.getLogger(ReactiveAppointmentResource.class);
+
+    private final ReactiveAppointmentRepository reactiveAppointmentRepository;
+
+    public ReactiveAppointmentResource(ReactiveAppointmentRepository reactiveAppointmentRepository) {
+        this.reactiveAppointmentRepository = reactiveAppointmentRepository;
+    }
+
+    /**
+     * {@code GET  /appointments/organization/:organizationId} : stream the appointments of an organization lying
+     * within a time range.
+     *
+     * @param organizationId the id of the organization.
+     * @param start          the start of the range.
+     * @param end            the end of the range.
+     * @return the appointments ordered by start, or status {@code 400 (Bad Request)} if the range is invalid.
+     */
+    @GetMapping(
+        value = "/appointments/organization/{organizationId}",
+        produces = { AppointmentExportResource.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE }
+    )
+    public Flux<AppointmentDTO> streamAppointments(
+        @PathVariable Long organizationId,
+        @RequestParam LocalDateTime start,
+        @RequestParam LocalDateTime end
+    ) {
+        this.log.debug("REST request to stream Appointments of organization {} from {} to {}", organizationId, start, end);
+        if (!start.isBefore(end)) {
+            throw BookingErrors.invalidRange();
+        }
+        return this.reactiveAppointmentRepository.findByOrganization(organizationId, start, end).map(AppointmentRow::toDto);
+    }
+
+    /**
+     * {@code GET  /appointments/organization/:organizationId/employee/:employeeId} : stream the appointments of an
+     * employee lying within a time range.
+     *
+     * @param organizationId the id of the organization.
+     * @param employeeId     the id of the employee.
+     * @param start          the start of the range.
+     * @param end            the end of the range.
+     * @return the appointments ordered by start, or status {@code 400 (Bad Request)} if the range is invalid.
+     */
+    @GetMapping(
+        value = "/appointments/organization/{organizationId}/employee/{employeeId}",
+        produces = { AppointmentExportResource.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE }
+    )
+    public Flux<AppointmentDTO> streamEmployeeAppointments(
+        @PathVariable Long organizationId,
+        @PathVariable Long employeeId,
+        @RequestParam LocalDateTime start,
+        @RequestParam LocalDateTime end
+    ) {
+        this.log.debug("REST request to stream Appointments of employee {} in organization {} from {} to {}", employeeId, organizationId, start, end);
+        if (!start.isBefore(end)) {
+            throw BookingErrors.invalidRange();
+        }
+        return this.reactiveAppointmentRepository.findByOrganizationAndEmployee(organizationId, employeeId, start, end).map(AppointmentRow::toDto);
+    }
+}
@@ -0,0 +1,94 @@
+package de.apnmt.appointment.web.rest;
+
+import de.apnmt.appointment.service.SlotService;
+import de.apnmt.appointment.service.dto.EmployeeSlotsDTO;
+import de.apnmt.appointment.service.dto.SlotDTO;
+import de.apnmt.appointment.web.rest.errors.BookingErrors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tech.jhipster.web.util.ResponseUtil;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST controller for searching free slots.
+ */
+@RestController
+@RequestMapping("/api")
+public class SlotResource {
+
+    private final Logger log = LoggerFactory.getLogger(SlotResource.class);
+
+    private final SlotService slotService;
+
+    public SlotResource(SlotService slotService) {
+        this.slotService = slotService;
+    }
+
+    /**
+     * {@code GET  /slots/organization/:organizationId/employee/:employeeId} : get the free slots of an employee.
+     *
+     * @param organizationId the id of the organization.
+     * @param employeeId     the id of the employee.
+     * @param serviceId      the id of the service whose duration is the minimal slot length.
+     * @param start          the start of the searched range.
+     * @param end            the end of the searched range.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of free slots in body,
+     * or with status {@code 404 (Not Found)} if the service does not exist in the organization.
+     */
+    @GetMapping("/slots/organization/{organizationId}/employee/{employeeId}")
+    public ResponseEntity<List<SlotDTO>> getFreeSlots(
+        @PathVariable Long organizationId,
+        @PathVariable Long employeeId,
+        @RequestParam Long serviceId,
+        @RequestParam LocalDateTime start,
+        @RequestParam LocalDateTime end
+    ) {
+        this.log.debug("REST request to get free slots of employee {} in organization {}", employeeId, organizationId);
+        if (!start.isBefore(end)) {
+            throw BookingErrors.invalidRange();
+        }
+        return ResponseUtil.wrapOrNotFound(this.slotService.findFreeSlots(organizationId, employeeId, serviceId, start, end));
+    }
+
+    /**
+     * {@code GET  /slots/organization/:organizationId} : get the free slots of several employees of an organization.
+     * <p>
+     * The employees are managed by another service, so they have to be given. Employees without appointments in the
+     * range are returned with the whole range free.
+     *
+     * @param organizationId the id of the organization.
+     * @param employeeIds    the ids of the employees, at least one.
+     * @param serviceId      the id of the service whose duration is the minimal slot length.
+     * @param start          the start of the searched range.
+     * @param end            the end of the searched range.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of free slots per employee in body,
+     * with status {@code 400 (Bad Request)} if no employees are given,
+     * or with status {@code 404 (Not Found)} if the service does not exist in the organization.
+     */
+    @GetMapping("/slots/organization/{organizationId}")
+    public ResponseEntity<List<EmployeeSlotsDTO>> getFreeSlotsOfEmployees(
+        @PathVariable Long organizationId,
+        @RequestParam(required = false) Set<Long> employeeIds,
+        @RequestParam Long serviceId,
+        @RequestParam LocalDateTime start,
+        @RequestParam LocalDateTime end
+    ) {
+        this.log.debug("REST request to get free slots of employees {} in organization {}", employeeIds, organizationId);
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            throw BookingErrors.missingEmployees();
+        }
+        if (!start.isBefore(end)) {
+            throw BookingErrors.invalidRange();
+        }
+        return ResponseUtil.wrapOrNotFound(this.slotService.findFreeSlots(organizationId, employeeIds, serviceId, start, end));
+    }
+}
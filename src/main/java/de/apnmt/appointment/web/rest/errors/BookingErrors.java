@@ -0,0 +1,43 @@
+package de.apnmt.appointment.web.rest.errors;
+
+import de.apnmt.common.errors.HttpError;
+import org.zalando.problem.Status;
+
+/**
+ * Errors returned by the booking related extensions of the appointment endpoints.
+ */
+public final class BookingErrors {
+
+    public static final String ERR_SLOT_NOT_AVAILABLE = "error.slotNotAvailable";
+    public static final String ERR_INVALID_RANGE = "error.invalidRange";
+    public static final String ERR_MISSING_EMPLOYEES = "error.missingEmployees";
+
+    private BookingErrors() {}
+
+    /**
+     * Creates the error that is returned when the requested slot overlaps an existing appointment.
+     *
+     * @return the error, mapped to {@code 429 Too Many Requests} like the overlap check of the appointment service.
+     */
+    public static HttpError slotNotAvailable() {
+        return new HttpError(Status.TOO_MANY_REQUESTS, ERR_SLOT_NOT_AVAILABLE, "Slot not available");
+    }
+
+    /**
+     * Creates the error that is returned when a requested time range does not end after its start.
+     *
+     * @return the error, mapped to {@code 400 Bad Request}.
+     */
+    public static HttpError invalidRange() {
+        return new HttpError(Status.BAD_REQUEST, ERR_INVALID_RANGE, "Invalid time range");
+    }
+
+    /**
+     * Creates the error that is returned when the free slots of an organization are requested without employees.
+     *
+     * @return the error, mapped to {@code 400 Bad Request}.
+     */
+    public static HttpError missingEmployees() {
+        return new HttpError(Status.BAD_REQUEST, ERR_MISSING_EMPLOYEES, "No employees given");
+    }
+}
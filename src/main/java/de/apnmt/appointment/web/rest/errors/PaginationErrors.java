@@ -0,0 +1,23 @@
+package de.apnmt.appointment.web.rest.errors;
+
+import de.apnmt.common.errors.HttpError;
+import org.zalando.problem.Status;
+
+/**
+ * Errors returned by the keyset paginated listings.
+ */
+public final class PaginationErrors {
+
+    public static final String ERR_INVALID_CURSOR = "error.invalidCursor";
+
+    private PaginationErrors() {}
+
+    /**
+     * Creates the error that is returned when a cursor was not issued by this service.
+     *
+     * @return the error, mapped to {@code 400 Bad Request}.
+     */
+    public static HttpError invalidCursor() {
+        return new HttpError(Status.BAD_REQUEST, ERR_INVALID_CURSOR, "Invalid cursor");
+    }
+}
@@ -0,0 +1,122 @@
+package de.apnmt.appointment.aop.archive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.repository.AppointmentRow;
+import de.apnmt.appointment.service.archive.AppointmentArchiveService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.server.ResponseStatusException;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AppointmentArchiveAspectTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2022, 2, 1, 0, 0);
+
+    private static final LocalDateTime END = START.plusDays(1);
+
+    private AppointmentArchiveService appointmentArchiveService;
+
+    private ProceedingJoinPoint joinPoint;
+
+    private AppointmentArchiveAspect appointmentArchiveAspect;
+
+    @BeforeEach
+    void setUp() {
+        this.appointmentArchiveService = mock(AppointmentArchiveService.class);
+        this.joinPoint = mock(ProceedingJoinPoint.class);
+        this.appointmentArchiveAspect = new AppointmentArchiveAspect(this.appointmentArchiveService);
+    }
+
+    @Test
+    void mergesArchivedAppointmentsIntoRange() throws Throwable {
+        when(this.joinPoint.getArgs()).thenReturn(new Object[] { 1L, 2L, START, END });
+        when(this.joinPoint.proceed()).thenReturn(ResponseEntity.ok(List.of(dto(3L, START.plusHours(10)))));
+        when(this.appointmentArchiveService.findWithin(1L, 2L, START, END)).thenReturn(List.of(row(4L, START.plusHours(8))));
+
+        Object result = this.appointmentArchiveAspect.addArchived(this.joinPoint, mapping("employee"));
+
+        assertThat(((ResponseEntity<List<AppointmentDTO>>) result).getBody()).extracting(AppointmentDTO::getId).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void keepsRangeWithoutArchivedAppointments() throws Throwable {
+        ResponseEntity<List<AppointmentDTO>> response = ResponseEntity.ok(List.of(dto(3L, START.plusHours(10))));
+        when(this.joinPoint.getArgs()).thenReturn(new Object[] { 1L, START, END });
+        when(this.joinPoint.proceed()).thenReturn(response);
+        when(this.appointmentArchiveService.findWithin(1L, START, END)).thenReturn(List.of());
+
+        assertThat(this.appointmentArchiveAspect.addArchived(this.joinPoint, mapping("organization"))).isSameAs(response);
+    }
+
+    @Test
+    void findsArchivedAppointmentById() throws Throwable {
+        when(this.joinPoint.getArgs()).thenReturn(new Object[] { 4L });
+        when(this.joinPoint.proceed()).thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        when(this.appointmentArchiveService.findOne(4L)).thenReturn(Optional.of(row(4L, START)));
+
+        Object result = this.appointmentArchiveAspect.addArchived(this.joinPoint, mapping("appointment"));
+
+        assertThat(((ResponseEntity<AppointmentDTO>) result).getBody().getId()).isEqualTo(4L);
+    }
+
+    @Test
+    void keepsNotFoundIfNotArchived() throws Throwable {
+        ResponseStatusException notFound = new ResponseStatusException(HttpStatus.NOT_FOUND);
+        when(this.joinPoint.getArgs()).thenReturn(new Object[] { 4L });
+        when(this.joinPoint.proceed()).thenThrow(notFound);
+        when(this.appointmentArchiveService.findOne(4L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> this.appointmentArchiveAspect.addArchived(this.joinPoint, mapping("appointment"))).isSameAs(notFound);
+    }
+
+    @Test
+    void ignoresOtherEndpoints() throws Throwable {
+        ResponseEntity<List<AppointmentDTO>> response = ResponseEntity.ok(List.of());
+        when(this.joinPoint.getArgs()).thenReturn(new Object[] { null });
+        when(this.joinPoint.proceed()).thenReturn(response);
+
+        assertThat(this.appointmentArchiveAspect.addArchived(this.joinPoint, mapping("appointments"))).isSameAs(response);
+        verifyNoInteractions(this.appointmentArchiveService);
+    }
+
+    private static GetMapping mapping(String endpoint) throws NoSuchMethodException {
+        return Endpoints.class.getDeclaredMethod(endpoint).getAnnotation(GetMapping.class);
+    }
+
+    private static AppointmentDTO dto(Long id, LocalDateTime startAt) {
+        return row(id, startAt).toDto();
+    }
+
+    private static AppointmentRow row(Long id, LocalDateTime startAt) {
+        return new AppointmentRow(id, startAt, startAt.plusHours(1), 1L, 2L, null, null);
+    }
+
+    /**
+     * The mappings of the endpoints of the appointment REST controller.
+     */
+    private interface Endpoints {
+        @GetMapping("/appointments")
+        void appointments();
+
+        @GetMapping("/appointments/{id}")
+        void appointment();
+
+        @GetMapping("/appointments/organization/{organizationId}")
+        void organization();
+
+        @GetMapping("/appointments/organization/{organizationId}/employee/{employeeId}")
+        void employee();
+    }
+}
@@ -0,0 +1,81 @@
+package de.apnmt.appointment.aop.booking;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.service.booking.AdvisoryLocks;
+import de.apnmt.appointment.service.booking.AppointmentIntervalIndex;
+import de.apnmt.appointment.service.booking.EmployeeLocks;
+import de.apnmt.common.errors.HttpError;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingAspectTest {
+
+    private AdvisoryLocks advisoryLocks;
+
+    private ApplicationProperties applicationProperties;
+
+    private ProceedingJoinPoint joinPoint;
+
+    private BookingAspect bookingAspect;
+
+    @BeforeEach
+    void setUp() {
+        this.advisoryLocks = mock(AdvisoryLocks.class);
+        this.applicationProperties = new ApplicationProperties();
+        this.applicationProperties.getBooking().setIntervalIndex(false);
+        this.applicationProperties.getBooking().setExclusionConstraint(true);
+        this.applicationProperties.getBooking().setLockMode(ApplicationProperties.LockMode.CLUSTER);
+        this.joinPoint = mock(ProceedingJoinPoint.class);
+        AppointmentDTO appointmentDTO = new AppointmentDTO();
+        appointmentDTO.setOrganizationId(1L);
+        appointmentDTO.setEmployeeId(2L);
+        appointmentDTO.setStartAt(LocalDateTime.of(2022, 2, 1, 9, 0));
+        appointmentDTO.setEndAt(LocalDateTime.of(2022, 2, 1, 10, 0));
+        when(this.joinPoint.getArgs()).thenReturn(new Object[] { appointmentDTO });
+        this.bookingAspect = new BookingAspect(
+            mock(AppointmentIntervalIndex.class),
+            new EmployeeLocks(),
+            this.advisoryLocks,
+            this.applicationProperties
+        );
+    }
+
+    @Test
+    void translatesViolationOnCommitOfAdvisoryLockTransaction() throws Throwable {
+        when(this.advisoryLocks.runLocked(eq(2L), any())).thenThrow(violation("23P01"));
+
+        assertThatThrownBy(() -> this.bookingAspect.checkSlot(this.joinPoint)).isInstanceOf(HttpError.class);
+    }
+
+    @Test
+    void keepsOtherViolations() throws Throwable {
+        DataIntegrityViolationException violation = violation("23505");
+        when(this.advisoryLocks.runLocked(eq(2L), any())).thenThrow(violation);
+
+        assertThatThrownBy(() -> this.bookingAspect.checkSlot(this.joinPoint)).isSameAs(violation);
+    }
+
+    @Test
+    void keepsViolationWithoutExclusionConstraint() throws Throwable {
+        this.applicationProperties.getBooking().setExclusionConstraint(false);
+        DataIntegrityViolationException violation = violation("23P01");
+        when(this.advisoryLocks.runLocked(eq(2L), any())).thenThrow(violation);
+
+        assertThatThrownBy(() -> this.bookingAspect.checkSlot(this.joinPoint)).isSameAs(violation);
+    }
+
+    private static DataIntegrityViolationException violation(String sqlState) {
+        return new DataIntegrityViolationException("could not execute batch", new SQLException("conflicting key value", sqlState));
+    }
+}
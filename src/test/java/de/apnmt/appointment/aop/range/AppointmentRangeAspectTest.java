@@ -0,0 +1,100 @@
+package de.apnmt.appointment.aop.range;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import de.apnmt.appointment.repository.AppointmentRow;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AppointmentRangeAspectTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2022, 2, 1, 0, 0);
+
+    private static final LocalDateTime END = START.plusDays(1);
+
+    private AppointmentRangeRepository appointmentRangeRepository;
+
+    private ProceedingJoinPoint joinPoint;
+
+    private AppointmentRangeAspect appointmentRangeAspect;
+
+    @BeforeEach
+    void setUp() {
+        this.appointmentRangeRepository = mock(AppointmentRangeRepository.class);
+        this.joinPoint = mock(ProceedingJoinPoint.class);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getReturnType()).thenReturn(ResponseEntity.class);
+        when(this.joinPoint.getSignature()).thenReturn(signature);
+        this.appointmentRangeAspect = new AppointmentRangeAspect(this.appointmentRangeRepository);
+    }
+
+    @Test
+    void readsOrganizationRangeFromProjections() throws Throwable {
+        when(this.joinPoint.getArgs()).thenReturn(new Object[] { 1L, START, END });
+        when(this.appointmentRangeRepository.findRowsWithin(1L, START, END)).thenReturn(List.of(row(3L), row(4L)));
+
+        Object result = this.appointmentRangeAspect.readRows(this.joinPoint, mapping("organization"));
+
+        assertThat(((ResponseEntity<List<AppointmentDTO>>) result).getBody()).extracting(AppointmentDTO::getId).containsExactly(3L, 4L);
+        verify(this.joinPoint, never()).proceed();
+    }
+
+    @Test
+    void readsEmployeeRangeFromProjections() throws Throwable {
+        when(this.joinPoint.getArgs()).thenReturn(new Object[] { 1L, 2L, START, END });
+        when(this.appointmentRangeRepository.findRowsWithin(1L, 2L, START, END)).thenReturn(List.of(row(3L)));
+
+        Object result = this.appointmentRangeAspect.readRows(this.joinPoint, mapping("employee"));
+
+        AppointmentDTO appointment = ((ResponseEntity<List<AppointmentDTO>>) result).getBody().get(0);
+        assertThat(appointment.getId()).isEqualTo(3L);
+        assertThat(appointment.getEmployeeId()).isEqualTo(2L);
+        assertThat(appointment.getCustomer().getId()).isEqualTo(5L);
+        verify(this.joinPoint, never()).proceed();
+    }
+
+    @Test
+    void proceedsWithOtherEndpoints() throws Throwable {
+        ResponseEntity<AppointmentDTO> response = ResponseEntity.ok(new AppointmentDTO());
+        when(this.joinPoint.getArgs()).thenReturn(new Object[] { 3L });
+        when(this.joinPoint.proceed()).thenReturn(response);
+
+        assertThat(this.appointmentRangeAspect.readRows(this.joinPoint, mapping("appointment"))).isSameAs(response);
+        verifyNoInteractions(this.appointmentRangeRepository);
+    }
+
+    private static GetMapping mapping(String endpoint) throws NoSuchMethodException {
+        return Endpoints.class.getDeclaredMethod(endpoint).getAnnotation(GetMapping.class);
+    }
+
+    private static AppointmentRow row(Long id) {
+        return new AppointmentRow(id, START.plusHours(id), START.plusHours(id + 1), 1L, 2L, 5L, 6L);
+    }
+
+    /**
+     * The mappings of the endpoints of the appointment REST controller.
+     */
+    private interface Endpoints {
+        @GetMapping("/appointments/{id}")
+        void appointment();
+
+        @GetMapping("/appointments/organization/{organizationId}")
+        void organization();
+
+        @GetMapping("/appointments/organization/{organizationId}/employee/{employeeId}")
+        void employee();
+    }
+}
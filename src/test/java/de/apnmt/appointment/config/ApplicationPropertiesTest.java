@@ -0,0 +1,79 @@
+package de.apnmt.appointment.config;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import de.apnmt.appointment.kafka.ChangeEventListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.context.properties.bind.BindHandler;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.handler.NoUnboundElementsBindHandler;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.kafka.annotation.KafkaListener;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests binding the {@link ApplicationProperties} from the main configuration files, which the integration tests
+ * never load as they are shadowed by the test configuration.
+ */
+class ApplicationPropertiesTest {
+
+    private static final String CONFIG = "src/main/resources/config/";
+
+    @Test
+    void bindsMainConfiguration() throws IOException {
+        ApplicationProperties applicationProperties = bind(environment());
+
+        assertThat(applicationProperties.getKafka().getChangeListener().isEnabled()).isTrue();
+    }
+
+    @Test
+    void bindsProdConfiguration() throws IOException {
+        ApplicationProperties applicationProperties = bind(environment("prod"));
+
+        assertThat(applicationProperties.getKafka().getChangeListener().isEnabled()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "receiveAppointmentEvent", "receiveServiceEvent" })
+    void startsChangeListenersWithProdConfiguration(String listener) throws Exception {
+        StandardEnvironment environment = environment("prod");
+        Method method = ChangeEventListener.class.getMethod(listener, ConsumerRecord.class);
+
+        String autoStartup = method.getAnnotation(KafkaListener.class).autoStartup();
+
+        assertThat(environment.getProperty("spring.kafka.consumer.auto-startup")).isEqualTo("false");
+        assertThat(environment.resolveRequiredPlaceholders(autoStartup)).isEqualTo("true");
+    }
+
+    private static ApplicationProperties bind(StandardEnvironment environment) {
+        // Like @ConfigurationProperties(ignoreUnknownFields = false)
+        return Binder
+            .get(environment)
+            .bind("application", Bindable.of(ApplicationProperties.class), new NoUnboundElementsBindHandler(BindHandler.DEFAULT))
+            .orElseGet(ApplicationProperties::new);
+    }
+
+    private static StandardEnvironment environment(String... profiles) throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        YamlPropertySourceLoader loader = new YamlPropertySourceLoader();
+        for (String profile : profiles) {
+            addLast(environment, loader, "application-" + profile + ".yml");
+        }
+        addLast(environment, loader, "application.yml");
+        return environment;
+    }
+
+    private static void addLast(StandardEnvironment environment, YamlPropertySourceLoader loader, String file) throws IOException {
+        for (PropertySource<?> propertySource : loader.load(file, new FileSystemResource(CONFIG + file))) {
+            environment.getPropertySources().addLast(propertySource);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package de.apnmt.appointment.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.cache.CacheManager;
+import de.apnmt.appointment.common.domain.Customer;
+import de.apnmt.appointment.common.domain.Service;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private final CacheConfiguration cacheConfiguration = new CacheConfiguration(new JHipsterProperties());
+
+    @Test
+    void cachesReferenceDataWhenSecondLevelCacheIsEnabled() {
+        Map<String, Object> hibernateProperties = new HashMap<>();
+        hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true");
+
+        this.cacheConfiguration.hibernatePropertiesCustomizer(mock(CacheManager.class)).customize(hibernateProperties);
+
+        assertThat(hibernateProperties)
+            .containsEntry(AvailableSettings.CLASS_CACHE_PREFIX + "." + Customer.class.getName(), "read-write")
+            .containsEntry(AvailableSettings.CLASS_CACHE_PREFIX + "." + Service.class.getName(), "read-write")
+            .containsEntry(AvailableSettings.GENERATE_STATISTICS, "true");
+    }
+
+    @Test
+    void cachesNothingWhenSecondLevelCacheIsDisabled() {
+        Map<String, Object> hibernateProperties = new HashMap<>();
+        hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false");
+
+        this.cacheConfiguration.hibernatePropertiesCustomizer(mock(CacheManager.class)).customize(hibernateProperties);
+
+        assertThat(hibernateProperties).doesNotContainKey(AvailableSettings.CLASS_CACHE_PREFIX + "." + Customer.class.getName());
+    }
+}
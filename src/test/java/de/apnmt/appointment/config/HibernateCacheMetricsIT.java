@@ -0,0 +1,37 @@
+package de.apnmt.appointment.config;
+
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Customer;
+import de.apnmt.appointment.common.domain.Service;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the metrics of the Hibernate second-level cache regions configured by the
+ * {@link CacheConfiguration}.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+    }
+)
+class HibernateCacheMetricsIT {
+
+    private static final String REQUESTS = "hibernate.second.level.cache.requests";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void exportsRegionHitsAndMisses() {
+        for (Class<?> entity : new Class<?>[] { Customer.class, Service.class }) {
+            assertThat(this.meterRegistry.find(REQUESTS).tag("region", entity.getName()).tag("result", "hit").meter()).isNotNull();
+            assertThat(this.meterRegistry.find(REQUESTS).tag("region", entity.getName()).tag("result", "miss").meter()).isNotNull();
+        }
+    }
+}
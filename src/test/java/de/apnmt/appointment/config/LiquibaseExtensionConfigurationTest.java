@@ -0,0 +1,30 @@
+package de.apnmt.appointment.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LiquibaseExtensionConfigurationTest {
+
+    @Test
+    void addsContextsOfEnabledFeatures() {
+        LiquibaseProperties liquibaseProperties = new LiquibaseProperties();
+        liquibaseProperties.setContexts("test");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPartitioning().setEnabled(true);
+
+        assertThat(LiquibaseExtensionConfiguration.contexts(liquibaseProperties, applicationProperties))
+            .isEqualTo("test," + LiquibaseExtensionConfiguration.CONTEXT_APPOINTMENT_PARTITIONING);
+    }
+
+    @Test
+    void rejectsExclusionConstraintWithPartitioning() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBooking().setExclusionConstraint(true);
+        applicationProperties.getPartitioning().setEnabled(true);
+
+        assertThatThrownBy(() -> LiquibaseExtensionConfiguration.contexts(new LiquibaseProperties(), applicationProperties))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
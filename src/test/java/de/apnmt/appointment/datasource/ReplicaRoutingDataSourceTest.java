@@ -0,0 +1,128 @@
+package de.apnmt.appointment.datasource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import de.apnmt.appointment.service.booking.AppointmentIntervalIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReplica().setMaxLag(Duration.ofSeconds(5));
+        DataSource dataSource = new SimpleDriverDataSource();
+        this.replicaLagMonitor = new ReplicaLagMonitor(dataSource, applicationProperties, new SimpleMeterRegistry());
+        this.replicaRoutingDataSource = new ReplicaRoutingDataSource(dataSource, dataSource, this.replicaLagMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToUsableReplica() {
+        this.replicaLagMonitor.record(1.5);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(this.replicaRoutingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.REPLICA);
+    }
+
+    @Test
+    void routesWritesToPrimary() {
+        this.replicaLagMonitor.record(0.0);
+
+        assertThat(this.replicaRoutingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void loadsIntervalIndexFromPrimary() {
+        this.replicaLagMonitor.record(0.0);
+        AppointmentRangeRepository appointmentRangeRepository = mock(AppointmentRangeRepository.class);
+        List<Object> lookupKeys = new ArrayList<>();
+        when(appointmentRangeRepository.findBookedAppointmentsEndingAfter(any(), any(), any())).thenAnswer(invocation -> {
+            lookupKeys.add(this.replicaRoutingDataSource.determineCurrentLookupKey());
+            return new ArrayList<>();
+        });
+        AppointmentIntervalIndex appointmentIntervalIndex = new AppointmentIntervalIndex(
+            appointmentRangeRepository,
+            new NoOpTransactionManager(),
+            new ApplicationProperties()
+        );
+
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+        assertThat(appointmentIntervalIndex.overlaps(1L, 1L, start, start.plusHours(1), null)).isFalse();
+
+        assertThat(lookupKeys).containsExactly(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void fallsBackToPrimaryWhileReplicaLags() {
+        this.replicaLagMonitor.record(5.5);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(this.replicaRoutingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void fallsBackToPrimaryWithoutMeasurement() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(this.replicaRoutingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        this.replicaLagMonitor.record(0.0);
+        this.replicaLagMonitor.record(null);
+        assertThat(this.replicaRoutingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    /**
+     * Transaction manager without a resource, which still exposes the transaction definition to the
+     * {@link TransactionSynchronizationManager} like the JPA transaction manager does.
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            // Nothing to begin
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            // Nothing to commit
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            // Nothing to roll back
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package de.apnmt.appointment.kafka;
+
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.service.booking.AppointmentIntervalIndex;
+import de.apnmt.common.ApnmtTestUtil;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.ApnmtEventType;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import de.apnmt.k8s.common.test.AbstractEventSenderIT;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnableKafka
+@EmbeddedKafka(ports = {58255}, topics = {TopicConstants.APPOINTMENT_CHANGED_TOPIC})
+@IntegrationTest
+@AutoConfigureMockMvc
+@DirtiesContext
+// Like application.yml, the listener must not depend on the consumer switch of the test configuration
+@TestPropertySource(properties = "spring.kafka.consumer.auto-startup=false")
+public class ChangeEventListenerIT extends AbstractEventSenderIT {
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private AppointmentIntervalIndex appointmentIntervalIndex;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @Override
+    public String getTopic() {
+        return TopicConstants.APPOINTMENT_CHANGED_TOPIC;
+    }
+
+    @Test
+    public void appointmentEventOfOtherReplicaTest() throws InterruptedException {
+        ApnmtEvent<AppointmentEventDTO> event = ApnmtTestUtil.createAppointmentEvent(ApnmtEventType.appointmentCreated);
+        AppointmentEventDTO appointment = event.getValue();
+        appointment.setOrganizationId(1L);
+        appointment.setEmployeeId(2000L);
+        // Upcoming, the index only holds the appointments that have not ended yet
+        appointment.setStartAt(LocalDate.now().plusDays(1).atTime(9, 0));
+        appointment.setEndAt(LocalDate.now().plusDays(1).atTime(10, 0));
+        assertThat(this.overlaps(appointment)).isFalse();
+        assertThat(this.kafkaListenerEndpointRegistry.getListenerContainer(ChangeEventListener.APPOINTMENT_LISTENER_ID).isRunning()).isTrue();
+        // The listener only receives events published after it joined its group
+        ContainerTestUtils.waitForAssignment(
+            this.kafkaListenerEndpointRegistry.getListenerContainer(ChangeEventListener.APPOINTMENT_LISTENER_ID),
+            this.embeddedKafkaBroker.getPartitionsPerTopic()
+        );
+
+        // Published by another replica, so only the listener can update the index
+        this.kafkaTemplate.send(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event);
+        assertThat(this.records.poll(500, TimeUnit.MILLISECONDS)).isNotNull();
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!this.overlaps(appointment) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(this.overlaps(appointment)).isTrue();
+    }
+
+    private boolean overlaps(AppointmentEventDTO appointment) {
+        return this.appointmentIntervalIndex.overlaps(
+            appointment.getOrganizationId(),
+            appointment.getEmployeeId(),
+            appointment.getStartAt(),
+            appointment.getEndAt(),
+            null
+        );
+    }
+}
@@ -0,0 +1,99 @@
+package de.apnmt.appointment.kafka;
+
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class EventCoalescerTest {
+
+    private EventPublisher eventPublisher;
+
+    private TaskScheduler taskScheduler;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    void setUp() {
+        this.eventPublisher = mock(EventPublisher.class);
+        this.taskScheduler = mock(TaskScheduler.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.applicationProperties = new ApplicationProperties();
+    }
+
+    @Test
+    void publishesDirectlyWithoutWindow() {
+        ApnmtEvent<AppointmentEventDTO> event = event(1L);
+
+        this.coalescer().publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event);
+
+        verify(this.eventPublisher).publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event);
+        verify(this.taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void publishesLatestEventPerAggregate() {
+        this.applicationProperties.getKafka().setCoalesceWindow(Duration.ofMillis(500));
+        EventCoalescer eventCoalescer = this.coalescer();
+        ApnmtEvent<AppointmentEventDTO> first = event(1L);
+        ApnmtEvent<AppointmentEventDTO> other = event(2L);
+        ApnmtEvent<AppointmentEventDTO> latest = event(1L);
+
+        eventCoalescer.publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, first);
+        eventCoalescer.publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, other);
+        eventCoalescer.publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, latest);
+        verifyNoMoreInteractions(this.eventPublisher);
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(this.taskScheduler, times(1)).schedule(flush.capture(), any(Instant.class));
+        flush.getValue().run();
+
+        verify(this.eventPublisher).publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, other);
+        verify(this.eventPublisher).publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, latest);
+        verifyNoMoreInteractions(this.eventPublisher);
+        assertThat(this.meterRegistry.get("kafka.publish.coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void flushesPendingEventsOnShutdown() {
+        this.applicationProperties.getKafka().setCoalesceWindow(Duration.ofMillis(500));
+        EventCoalescer eventCoalescer = this.coalescer();
+        ApnmtEvent<AppointmentEventDTO> event = event(1L);
+
+        eventCoalescer.publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event);
+        eventCoalescer.destroy();
+
+        verify(this.eventPublisher).publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event);
+    }
+
+    private EventCoalescer coalescer() {
+        return new EventCoalescer(this.eventPublisher, this.taskScheduler, this.meterRegistry, this.applicationProperties);
+    }
+
+    private static ApnmtEvent<AppointmentEventDTO> event(Long id) {
+        AppointmentEventDTO appointment = new AppointmentEventDTO();
+        appointment.setId(id);
+        appointment.setOrganizationId(1L);
+        ApnmtEvent<AppointmentEventDTO> event = new ApnmtEvent<>();
+        event.setValue(appointment);
+        return event;
+    }
+}
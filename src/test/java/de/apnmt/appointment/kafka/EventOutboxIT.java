@@ -0,0 +1,84 @@
+package de.apnmt.appointment.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.repository.OutboxEventRepository;
+import de.apnmt.common.ApnmtTestUtil;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.ApnmtEventType;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import de.apnmt.k8s.common.test.AbstractEventSenderIT;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnableKafka
+@EmbeddedKafka(ports = {58255}, topics = {TopicConstants.APPOINTMENT_CHANGED_TOPIC})
+@IntegrationTest
+@TestPropertySource(properties = "application.outbox.enabled=true")
+@DirtiesContext
+public class EventOutboxIT extends AbstractEventSenderIT {
+
+    @Autowired
+    private AppointmentEventSender appointmentEventSender;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public String getTopic() {
+        return TopicConstants.APPOINTMENT_CHANGED_TOPIC;
+    }
+
+    @Test
+    public void committedEventIsPublishedTest() throws InterruptedException, JsonProcessingException {
+        ApnmtEvent<AppointmentEventDTO> event = ApnmtTestUtil.createAppointmentEvent(ApnmtEventType.appointmentCreated);
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            this.appointmentEventSender.send(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event);
+            // Nothing is published before the commit
+            assertThat(this.outboxEventRepository.count()).isEqualTo(1);
+        });
+
+        ConsumerRecord<String, Object> message = this.records.poll(5, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(message.value()).isNotNull();
+
+        TypeReference<ApnmtEvent<AppointmentEventDTO>> eventType = new TypeReference<>() {
+        };
+        ApnmtEvent<AppointmentEventDTO> eventResult = this.objectMapper.readValue(message.value().toString(), eventType);
+        assertThat(eventResult).isEqualTo(event);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (this.outboxEventRepository.count() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(this.outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    public void rolledBackEventIsNotPublishedTest() throws InterruptedException {
+        ApnmtEvent<AppointmentEventDTO> event = ApnmtTestUtil.createAppointmentEvent(ApnmtEventType.appointmentCreated);
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            this.appointmentEventSender.send(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event);
+            status.setRollbackOnly();
+        });
+
+        assertThat(this.records.poll(2, TimeUnit.SECONDS)).isNull();
+        assertThat(this.outboxEventRepository.count()).isZero();
+    }
+}
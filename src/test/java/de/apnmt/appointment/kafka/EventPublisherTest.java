@@ -0,0 +1,84 @@
+package de.apnmt.appointment.kafka;
+
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventPublisherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SettableListenableFuture<SendResult<String, Object>> future;
+
+    private EventPublisher eventPublisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        this.future = new SettableListenableFuture<>();
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(this.future);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.eventPublisher = new EventPublisher(kafkaTemplate, new KafkaProperties(), this.meterRegistry, new ApplicationProperties());
+    }
+
+    @Test
+    void keysByOrganization() {
+        assertThat(this.eventPublisher.key(appointmentEvent())).isEqualTo("1");
+        assertThat(this.eventPublisher.key(new ApnmtEvent<>())).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keysByEmployee() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getKafka().setPartitionKey(ApplicationProperties.PartitionKey.EMPLOYEE);
+        EventPublisher eventPublisher = new EventPublisher(mock(KafkaTemplate.class), new KafkaProperties(), this.meterRegistry, applicationProperties);
+
+        assertThat(eventPublisher.key(appointmentEvent())).isEqualTo("2");
+    }
+
+    @Test
+    void recordsSuccess() {
+        this.eventPublisher.publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, new ApnmtEvent<>());
+        assertThat(this.meterRegistry.find("kafka.publish").timer()).isNull();
+
+        this.future.set(null);
+
+        assertThat(this.meterRegistry.get("kafka.publish").tag("result", "success").timer().count()).isEqualTo(1);
+        assertThat(this.meterRegistry.find("kafka.publish.failures").counter()).isNull();
+    }
+
+    @Test
+    void recordsFailure() {
+        this.eventPublisher.publish(TopicConstants.APPOINTMENT_CHANGED_TOPIC, new ApnmtEvent<>());
+
+        this.future.setException(new IllegalStateException("broker unavailable"));
+
+        assertThat(this.meterRegistry.get("kafka.publish").tag("result", "failure").timer().count()).isEqualTo(1);
+        assertThat(this.meterRegistry.get("kafka.publish.failures").tag("topic", TopicConstants.APPOINTMENT_CHANGED_TOPIC).counter().count()).isEqualTo(1);
+    }
+
+    private static ApnmtEvent<AppointmentEventDTO> appointmentEvent() {
+        AppointmentEventDTO appointment = new AppointmentEventDTO();
+        appointment.setOrganizationId(1L);
+        appointment.setEmployeeId(2L);
+        ApnmtEvent<AppointmentEventDTO> event = new ApnmtEvent<>();
+        event.setValue(appointment);
+        return event;
+    }
+}
@@ -0,0 +1,40 @@
+package de.apnmt.appointment.kafka;
+
+import de.apnmt.common.TopicConstants;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the size and the serialization time of a change event per {@link EventFormat}.
+ * <p>
+ * Only run with {@code -Dbenchmark=true}, the numbers are logged and not asserted.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EventSerializerBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSerializerBenchmarkIT.class);
+
+    private static final int WARMUP_ITERATIONS = 50000;
+    private static final int ITERATIONS = 200000;
+
+    @Test
+    void serializeInEveryFormat() {
+        ApnmtEvent<AppointmentEventDTO> event = EventSerializerTest.event();
+        for (EventFormat format : EventFormat.values()) {
+            EventSerializer serializer = new EventSerializer(format);
+            int size = serializer.serialize(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event).length;
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                serializer.serialize(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                serializer.serialize(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event);
+            }
+            log.info("{}: {} bytes/event, {} ns/op", format, size, (System.nanoTime() - start) / ITERATIONS);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package de.apnmt.appointment.kafka;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.ApnmtEventType;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSerializerTest {
+
+    private static final TypeReference<ApnmtEvent<AppointmentEventDTO>> APPOINTMENT_EVENT = new TypeReference<>() {
+    };
+
+    @Test
+    void roundTripsInEveryFormat() throws IOException {
+        ApnmtEvent<AppointmentEventDTO> event = event();
+        for (EventFormat format : EventFormat.values()) {
+            RecordHeaders headers = new RecordHeaders();
+            byte[] data = new EventSerializer(format).serialize(TopicConstants.APPOINTMENT_CHANGED_TOPIC, headers, event);
+
+            assertThat(EventFormat.of(headers.lastHeader(EventFormat.CONTENT_TYPE_HEADER).value())).contains(format);
+            ApnmtEvent<AppointmentEventDTO> read = format.objectMapper().readValue(data, APPOINTMENT_EVENT);
+            assertThat(read).usingRecursiveComparison().isEqualTo(event);
+        }
+    }
+
+    @Test
+    void binaryFormatsAreSmallerThanJson() {
+        ApnmtEvent<AppointmentEventDTO> event = event();
+        int json = new EventSerializer(EventFormat.JSON).serialize(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event).length;
+        for (EventFormat format : EventFormat.values()) {
+            if (format != EventFormat.JSON) {
+                assertThat(new EventSerializer(format).serialize(TopicConstants.APPOINTMENT_CHANGED_TOPIC, event)).hasSizeLessThan(json);
+            }
+        }
+    }
+
+    static ApnmtEvent<AppointmentEventDTO> event() {
+        AppointmentEventDTO appointment = new AppointmentEventDTO();
+        appointment.setId(1L);
+        appointment.setOrganizationId(1L);
+        appointment.setEmployeeId(2L);
+        appointment.setStartAt(LocalDateTime.of(2022, 2, 1, 9, 0));
+        appointment.setEndAt(LocalDateTime.of(2022, 2, 1, 10, 0));
+        ApnmtEvent<AppointmentEventDTO> event = new ApnmtEvent<>();
+        event.setTimestamp(LocalDateTime.of(2022, 1, 1, 12, 0));
+        event.setType(ApnmtEventType.appointmentCreated);
+        event.setValue(appointment);
+        return event;
+    }
+}
@@ -0,0 +1,66 @@
+package de.apnmt.appointment.repository;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.EnabledIf;
+import org.springframework.transaction.annotation.Transactional;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Integration tests for the exclusion constraint against overlapping appointments, run against PostgreSQL with the
+ * 'testcontainers' profile.
+ */
+@IntegrationTest
+@Transactional
+@TestPropertySource(
+    properties = {
+        "application.booking.exclusion-constraint=true",
+        // A database of its own, the constraint must not leak into the tests that run without it
+        "spring.datasource.url=jdbc:tc:postgresql:13.5:///appointmentservice_exclusion?TC_TMPFS=/testtmpfs:rw",
+    }
+)
+@EnabledIf(expression = "#{environment.acceptsProfiles('testcontainers')}", loadContext = true)
+class AppointmentExclusionConstraintIT {
+
+    private static final LocalDateTime START = LocalDateTime.of(2022, 3, 1, 9, 0);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private static Appointment createAppointment(Long employeeId, LocalDateTime startAt, LocalDateTime endAt) {
+        return new Appointment().startAt(startAt).endAt(endAt).organizationId(1L).employeeId(employeeId);
+    }
+
+    @Test
+    void rejectsOverlappingAppointmentOfSameEmployee() {
+        this.appointmentRepository.saveAndFlush(createAppointment(1L, START, START.plusHours(1)));
+
+        DataIntegrityViolationException violation = catchThrowableOfType(
+            () -> this.appointmentRepository.saveAndFlush(createAppointment(1L, START.plusMinutes(30), START.plusMinutes(90))),
+            DataIntegrityViolationException.class
+        );
+
+        assertThat(violation).isNotNull();
+        assertThat(NestedExceptionUtils.getMostSpecificCause(violation)).isInstanceOf(SQLException.class);
+        assertThat(((SQLException) NestedExceptionUtils.getMostSpecificCause(violation)).getSQLState()).isEqualTo("23P01");
+    }
+
+    @Test
+    void acceptsAdjacentAppointmentsAndOtherEmployees() {
+        this.appointmentRepository.saveAndFlush(createAppointment(1L, START, START.plusHours(1)));
+        this.appointmentRepository.saveAndFlush(createAppointment(1L, START.plusHours(1), START.plusHours(2)));
+        this.appointmentRepository.saveAndFlush(createAppointment(2L, START, START.plusHours(1)));
+
+        assertThat(this.appointmentRepository.count()).isGreaterThanOrEqualTo(3);
+    }
+}
@@ -0,0 +1,166 @@
+package de.apnmt.appointment.repository;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManager;
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.domain.Customer;
+import de.apnmt.appointment.common.domain.Service;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import de.apnmt.appointment.common.repository.CustomerRepository;
+import de.apnmt.appointment.common.repository.ServiceRepository;
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.common.service.mapper.AppointmentMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares reading a range of appointments as entities mapped by the {@link AppointmentMapper} with reading
+ * {@link AppointmentRow} projections. Reports latency and allocated bytes per read.
+ * <p>
+ * Only run with {@code -Dbenchmark=true}, preferably together with the 'testcontainers' profile.
+ */
+@IntegrationTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AppointmentProjectionBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentProjectionBenchmarkIT.class);
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2022, 1, 3, 8, 0);
+
+    private static final Long ORGANIZATION_ID = 4711L;
+
+    private static final int APPOINTMENTS = 5000;
+    private static final int CUSTOMERS = 200;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentRangeRepository appointmentRangeRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private AppointmentMapper appointmentMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    private final List<Appointment> appointments = new ArrayList<>();
+
+    private final List<Customer> customers = new ArrayList<>();
+
+    private Service service;
+
+    @BeforeEach
+    void setUp() {
+        this.readOnly = new TransactionTemplate(this.transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.service = this.serviceRepository.saveAndFlush(new Service().name("Haircut").duration(60).cost(30.0).organizationId(ORGANIZATION_ID));
+        for (int i = 0; i < CUSTOMERS; i++) {
+            this.customers.add(new Customer().firstName("First" + i).lastName("Last" + i).mail("customer" + i + "@example.com").organizationId(ORGANIZATION_ID));
+        }
+        this.customerRepository.saveAllAndFlush(this.customers);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            LocalDateTime startAt = DAY_START.plusDays(i / 10).plusHours(i % 10);
+            this.appointments.add(
+                new Appointment()
+                    .startAt(startAt)
+                    .endAt(startAt.plusHours(1))
+                    .organizationId(ORGANIZATION_ID)
+                    .employeeId((long) (i % 10))
+                    .customer(this.customers.get(i % CUSTOMERS))
+                    .service(this.service)
+            );
+        }
+        this.appointmentRepository.saveAllAndFlush(this.appointments);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        this.appointmentRepository.deleteAllInBatch(this.appointments);
+        this.customerRepository.deleteAllInBatch(this.customers);
+        this.serviceRepository.deleteAllInBatch(List.of(this.service));
+    }
+
+    @Test
+    void projectionAllocatesLessThanEntities() {
+        Measurement entities = this.measure("entities", () ->
+            this.appointmentMapper.toDto(
+                this.em
+                    .createQuery(
+                        "select appointment from Appointment appointment where appointment.organizationId = :organizationId " +
+                        "order by appointment.startAt, appointment.id",
+                        Appointment.class
+                    )
+                    .setParameter("organizationId", ORGANIZATION_ID)
+                    .getResultList()
+            )
+        );
+        Measurement projections = this.measure("projections", () -> {
+            List<AppointmentDTO> dtos = new ArrayList<>(APPOINTMENTS);
+            this.appointmentRangeRepository.findFirstPage(ORGANIZATION_ID, PageRequest.of(0, APPOINTMENTS)).forEach(row -> dtos.add(row.toDto()));
+            return dtos;
+        });
+
+        assertThat(projections.bytes).isLessThan(entities.bytes);
+    }
+
+    private Measurement measure(String name, Supplier<List<AppointmentDTO>> read) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            List<AppointmentDTO> dtos = this.readOnly.execute(status -> read.get());
+            assertThat(dtos).hasSize(APPOINTMENTS);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long nanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            this.readOnly.execute(status -> read.get());
+        }
+        Measurement measurement = new Measurement(
+            (System.nanoTime() - nanos) / ITERATIONS,
+            (threads.getThreadAllocatedBytes(thread) - bytes) / ITERATIONS
+        );
+        log.info("Reading {} appointments as {}: {} ms, {} KiB allocated", APPOINTMENTS, name, measurement.nanos / 1_000_000.0, measurement.bytes / 1024);
+        return measurement;
+    }
+
+    private static class Measurement {
+
+        private final long nanos;
+
+        private final long bytes;
+
+        Measurement(long nanos, long bytes) {
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+}
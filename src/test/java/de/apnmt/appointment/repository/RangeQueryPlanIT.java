@@ -0,0 +1,234 @@
+package de.apnmt.appointment.repository;
+
+import de.apnmt.appointment.IntegrationTest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.EnabledIf;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression tests for the query plans of the range reads, run against PostgreSQL with the 'testcontainers' profile.
+ * <p>
+ * The tables are seeded once with appointments of 100 organizations with 20 employees each, spread evenly over more
+ * than a year, then vacuumed and analyzed, so the planner works with representative statistics and an up to date
+ * visibility map. Sequential scans stay enabled, the plans are the ones PostgreSQL picks in production.
+ * <p>
+ * Every test runs a repository method and explains the SQL Hibernate generated for it, recorded by a
+ * {@link StatementInspector}, with the same parameters.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        // A database of its own, the seeded rows must not leak into the other tests
+        "spring.datasource.url=jdbc:tc:postgresql:13.5:///appointmentservice_plans?TC_TMPFS=/testtmpfs:rw",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=de.apnmt.appointment.repository.RangeQueryPlanIT$RecordingStatementInspector",
+    }
+)
+@EnabledIf(expression = "#{environment.acceptsProfiles('testcontainers')}", loadContext = true)
+class RangeQueryPlanIT {
+
+    private static final int ROWS = 100_000;
+
+    private static final String COVERING_INDEX = "ix_appointment__organization_id_employee_id_start_at";
+
+    private static final String KEYSET_INDEX = "ix_appointment__organization_id_start_at_id";
+
+    private static final String ARCHIVE_INDEX = "ix_appointment_archive__organization_id_start_at_id";
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private static final LocalDateTime DAY_END = DAY_START.plusDays(1);
+
+    private static final LocalDateTime ARCHIVED_MONTH_START = LocalDateTime.of(2019, 6, 1, 0, 0);
+
+    private static final LocalDateTime ARCHIVED_MONTH_END = ARCHIVED_MONTH_START.plusMonths(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AppointmentRangeRepository appointmentRangeRepository;
+
+    @Autowired
+    private ArchivedAppointmentRepository archivedAppointmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        RecordingStatementInspector.clear();
+        if (Boolean.TRUE.equals(this.jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM appointment_archive)", Boolean.class))) {
+            return;
+        }
+        this.jdbcTemplate.update(
+            "INSERT INTO appointment (id, start_at, end_at, organization_id, employee_id) " +
+            "SELECT g, timestamp '2021-01-01' + g * interval '7 minutes', timestamp '2021-01-01' + g * interval '7 minutes' + interval '30 minutes', " +
+            "g % 100 + 1, g / 100 % 20 + 1 FROM generate_series(1, ?) g",
+            ROWS
+        );
+        this.jdbcTemplate.update(
+            "INSERT INTO appointment_archive (id, start_at, end_at, organization_id, employee_id, archived_at) " +
+            "SELECT g, timestamp '2019-01-01' + g * interval '7 minutes', timestamp '2019-01-01' + g * interval '7 minutes' + interval '30 minutes', " +
+            "g % 100 + 1, g / 100 % 20 + 1, now() FROM generate_series(?, ?) g",
+            ROWS + 1,
+            2 * ROWS
+        );
+        // Outside of a transaction, VACUUM sets the visibility map that index-only scans depend on
+        this.jdbcTemplate.execute("VACUUM ANALYZE appointment");
+        this.jdbcTemplate.execute("VACUUM ANALYZE appointment_archive");
+    }
+
+    @Test
+    void bookedIntervalsOfEmployeeUseCoveringIndex() {
+        this.appointmentRangeRepository.findBookedIntervals(1L, 1L, DAY_START, DAY_END);
+
+        List<String> plan = this.explainRecorded(1L, 1L, DAY_END, DAY_START);
+
+        assertNoSeqScan(plan, "appointment");
+        assertThat(plan).anyMatch(line -> line.contains("Index Only Scan using " + COVERING_INDEX));
+    }
+
+    @Test
+    void bookedIntervalsOfEmployeesUseCoveringIndex() {
+        this.appointmentRangeRepository.findBookedIntervals(1L, List.of(1L, 2L), DAY_START, DAY_END);
+
+        List<String> plan = this.explainRecorded(1L, 1L, 2L, DAY_END, DAY_START);
+
+        assertNoSeqScan(plan, "appointment");
+        assertThat(plan).anyMatch(line -> line.contains(COVERING_INDEX));
+    }
+
+    @Test
+    void rowsWithinOfOrganizationUseIndex() {
+        this.appointmentRangeRepository.findRowsWithin(1L, DAY_START, DAY_END);
+
+        List<String> plan = this.explainRecorded(1L, DAY_START, DAY_END);
+
+        assertNoSeqScan(plan, "appointment");
+        assertThat(plan).anyMatch(line -> line.contains(KEYSET_INDEX));
+    }
+
+    @Test
+    void rowsWithinOfEmployeeUseCoveringIndex() {
+        this.appointmentRangeRepository.findRowsWithin(1L, 1L, DAY_START, DAY_END);
+
+        List<String> plan = this.explainRecorded(1L, 1L, DAY_START, DAY_END);
+
+        // The rows read more columns than the index includes, so the matches are fetched from the table
+        assertNoSeqScan(plan, "appointment");
+        assertThat(plan).anyMatch(line -> line.contains(COVERING_INDEX));
+    }
+
+    @Test
+    void keysetPageSeeksIntoIndex() {
+        this.appointmentRangeRepository.findPageAfter(1L, DAY_START, 1L, PageRequest.of(0, 20));
+
+        List<String> plan = this.explainRecorded(1L, DAY_START, DAY_START, DAY_START, 1L, 20);
+
+        assertNoSeqScan(plan, "appointment");
+        assertThat(plan).anyMatch(line -> line.contains("Index Scan using " + KEYSET_INDEX));
+        assertThat(plan).anyMatch(line -> line.contains("Index Cond:") && line.contains("start_at >="));
+    }
+
+    @Test
+    void exportStreamUsesIndex() {
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            try (Stream<AppointmentRow> rows = this.appointmentRangeRepository.streamByStartAt(1L, DAY_START, DAY_END)) {
+                rows.findFirst();
+            }
+        });
+
+        List<String> plan = this.explainRecorded(1L, DAY_START, DAY_END);
+
+        assertNoSeqScan(plan, "appointment");
+        assertThat(plan).anyMatch(line -> line.contains(KEYSET_INDEX));
+    }
+
+    @Test
+    void archivedRowsWithinUseIndex() {
+        this.archivedAppointmentRepository.findRowsWithin(1L, ARCHIVED_MONTH_START, ARCHIVED_MONTH_END);
+
+        List<String> plan = this.explainRecorded(1L, ARCHIVED_MONTH_START, ARCHIVED_MONTH_END);
+
+        assertNoSeqScan(plan, "appointment_archive");
+        assertThat(plan).anyMatch(line -> line.contains(ARCHIVE_INDEX));
+    }
+
+    @Test
+    void archivedExportStreamUsesIndex() {
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            try (Stream<AppointmentRow> rows = this.archivedAppointmentRepository.streamByStartAt(1L, ARCHIVED_MONTH_START, ARCHIVED_MONTH_END)) {
+                rows.findFirst();
+            }
+        });
+
+        List<String> plan = this.explainRecorded(1L, ARCHIVED_MONTH_START, ARCHIVED_MONTH_END);
+
+        assertNoSeqScan(plan, "appointment_archive");
+        assertThat(plan).anyMatch(line -> line.contains(ARCHIVE_INDEX));
+    }
+
+    @Test
+    void latestArchivedStartUsesIndex() {
+        this.archivedAppointmentRepository.findLatestStartAt(1L);
+
+        List<String> plan = this.explainRecorded(1L);
+
+        assertNoSeqScan(plan, "appointment_archive");
+        assertThat(plan).anyMatch(line -> line.contains(ARCHIVE_INDEX));
+    }
+
+    /**
+     * Explains the last statement Hibernate generated.
+     *
+     * @param parameters the values of the placeholders, in the order they appear in the statement.
+     * @return the lines of the plan.
+     */
+    private List<String> explainRecorded(Object... parameters) {
+        String sql = RecordingStatementInspector.last();
+        assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(parameters.length);
+        return this.jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    private static void assertNoSeqScan(List<String> plan, String table) {
+        // The joined customer and service tables are empty in this database, scanning them is fine
+        assertThat(plan).noneMatch(line -> line.matches(".*Seq Scan on " + table + "\\b.*"));
+    }
+
+    /**
+     * Records the statements generated by Hibernate, which instantiates it from its class name.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static String last() {
+            assertThat(STATEMENTS).isNotEmpty();
+            return STATEMENTS.get(STATEMENTS.size() - 1);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package de.apnmt.appointment.service.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import de.apnmt.appointment.domain.ArchivedAppointment;
+import de.apnmt.appointment.repository.ArchivedAppointmentRepository;
+import de.apnmt.appointment.service.AppointmentExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link AppointmentArchiveService}.
+ * <p>
+ * Not transactional, every chunk is archived in a transaction of its own.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = { "application.archive.enabled=true", "application.archive.chunk-size=1", "application.archive.pause=PT0S" })
+class AppointmentArchiveServiceIT {
+
+    private static final LocalDateTime PAST = LocalDateTime.of(2001, 3, 1, 8, 0);
+    private static final LocalDateTime FUTURE = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private static final Long ORGANIZATION_ID = 1L;
+    private static final Long EMPLOYEE_ID = 1L;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ArchivedAppointmentRepository archivedAppointmentRepository;
+
+    @Autowired
+    private AppointmentArchiveService appointmentArchiveService;
+
+    @Autowired
+    private AppointmentExportService appointmentExportService;
+
+    @Autowired
+    private MockMvc restAppointmentMockMvc;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    private static Appointment createAppointment(LocalDateTime startAt) {
+        return new Appointment().startAt(startAt).endAt(startAt.plusHours(1)).organizationId(ORGANIZATION_ID).employeeId(EMPLOYEE_ID);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        this.appointmentRepository.deleteAll(this.appointmentRepository.findAllById(this.ids));
+        this.archivedAppointmentRepository.deleteAll(this.archivedAppointmentRepository.findAllById(this.ids));
+    }
+
+    @Test
+    void archivePastAppointments() {
+        Appointment first = this.save(createAppointment(PAST));
+        Appointment second = this.save(createAppointment(PAST.plusHours(2)));
+        Appointment upcoming = this.save(createAppointment(FUTURE));
+
+        assertThat(this.appointmentArchiveService.archive()).isGreaterThanOrEqualTo(2);
+
+        assertThat(this.appointmentRepository.findById(first.getId())).isEmpty();
+        assertThat(this.appointmentRepository.findById(second.getId())).isEmpty();
+        assertThat(this.appointmentRepository.findById(upcoming.getId())).isPresent();
+        ArchivedAppointment archived = this.archivedAppointmentRepository.findById(first.getId()).orElseThrow();
+        assertThat(archived.getStartAt()).isEqualTo(PAST);
+        assertThat(archived.getEndAt()).isEqualTo(PAST.plusHours(1));
+        assertThat(archived.getOrganizationId()).isEqualTo(ORGANIZATION_ID);
+        assertThat(archived.getEmployeeId()).isEqualTo(EMPLOYEE_ID);
+        assertThat(archived.getArchivedAt()).isNotNull();
+    }
+
+    @Test
+    void exportIncludesArchiveOnlyWhenRangeReachesBack() throws Exception {
+        Appointment archived = this.save(createAppointment(PAST));
+        this.appointmentArchiveService.archive();
+        Appointment current = this.save(createAppointment(PAST.plusHours(2)));
+
+        String[] lines = this.export(PAST, PAST.plusDays(1));
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":" + archived.getId());
+        assertThat(lines[1]).contains("\"id\":" + current.getId());
+
+        lines = this.export(PAST.plusHours(1), PAST.plusDays(1));
+        assertThat(lines).hasSize(1);
+        assertThat(lines[0]).contains("\"id\":" + current.getId());
+    }
+
+    @Test
+    void rangeReadsIncludeArchivedAppointments() throws Exception {
+        Appointment archived = this.save(createAppointment(PAST));
+        this.appointmentArchiveService.archive();
+        Appointment current = this.save(createAppointment(PAST.plusHours(2)));
+        String range = "?start=" + PAST.minusHours(1) + "&end=" + PAST.plusDays(1);
+
+        this.restAppointmentMockMvc.perform(get("/api/appointments/organization/" + ORGANIZATION_ID + range))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(archived.getId().intValue(), current.getId().intValue())));
+        this.restAppointmentMockMvc.perform(get("/api/appointments/organization/" + ORGANIZATION_ID + "/employee/" + EMPLOYEE_ID + range))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(archived.getId().intValue(), current.getId().intValue())));
+    }
+
+    @Test
+    void findArchivedAppointmentById() throws Exception {
+        Appointment archived = this.save(createAppointment(PAST));
+        this.appointmentArchiveService.archive();
+
+        this.restAppointmentMockMvc.perform(get("/api/appointments/{id}", archived.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(archived.getId().intValue()))
+            .andExpect(jsonPath("$.employeeId").value(EMPLOYEE_ID.intValue()));
+        this.restAppointmentMockMvc.perform(get("/api/appointments/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private String[] export(LocalDateTime start, LocalDateTime end) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.appointmentExportService.export(ORGANIZATION_ID, start, end, out);
+        return out.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+    private Appointment save(Appointment appointment) {
+        Appointment saved = this.appointmentRepository.saveAndFlush(appointment);
+        this.ids.add(saved.getId());
+        return saved;
+    }
+}
@@ -0,0 +1,115 @@
+package de.apnmt.appointment.service.booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.common.service.mapper.AppointmentMapper;
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.kafka.AppointmentEventSender;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import de.apnmt.appointment.repository.BookedInterval;
+import de.apnmt.appointment.service.dto.ImportResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentImportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2022, 2, 1, 9, 0);
+
+    private AppointmentRepository appointmentRepository;
+
+    private AppointmentRangeRepository appointmentRangeRepository;
+
+    private AppointmentImportService appointmentImportService;
+
+    @BeforeEach
+    void setUp() {
+        this.appointmentRepository = mock(AppointmentRepository.class);
+        this.appointmentRangeRepository = mock(AppointmentRangeRepository.class);
+        AppointmentMapper appointmentMapper = mock(AppointmentMapper.class);
+        when(appointmentMapper.toEntity(any(AppointmentDTO.class))).thenAnswer(invocation -> {
+            AppointmentDTO appointmentDTO = invocation.getArgument(0);
+            return new Appointment()
+                .startAt(appointmentDTO.getStartAt())
+                .endAt(appointmentDTO.getEndAt())
+                .organizationId(appointmentDTO.getOrganizationId())
+                .employeeId(appointmentDTO.getEmployeeId());
+        });
+        when(this.appointmentRepository.saveAndFlush(any(Appointment.class))).thenAnswer(invocation -> {
+            Appointment appointment = invocation.getArgument(0);
+            appointment.setId(10L);
+            return appointment;
+        });
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBooking().setLockMode(ApplicationProperties.LockMode.NONE);
+        this.appointmentImportService = new AppointmentImportService(
+            this.appointmentRepository,
+            this.appointmentRangeRepository,
+            appointmentMapper,
+            mock(AppointmentEventSender.class),
+            mock(EntityManager.class),
+            mock(PlatformTransactionManager.class),
+            new EmployeeLocks(),
+            mock(AdvisoryLocks.class),
+            applicationProperties
+        );
+    }
+
+    @Test
+    void checksRetriedRowsAgain() {
+        AppointmentDTO taken = appointment(1L);
+        AppointmentDTO free = appointment(2L);
+        when(this.appointmentRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("conflicting key value"));
+        // Booked concurrently after the chunk was checked
+        when(this.appointmentRangeRepository.findBookedIntervals(1L, 1L, START, START.plusHours(1))).thenReturn(List.of(booked(1L)));
+
+        List<ImportResultDTO> results = this.appointmentImportService.importAppointments(List.of(taken, free).iterator());
+
+        assertThat(results).extracting(ImportResultDTO::getStatus).containsExactly(ImportResultDTO.Status.CONFLICT, ImportResultDTO.Status.CREATED);
+        verify(this.appointmentRangeRepository).findBookedIntervals(eq(1L), anyCollection(), eq(START), eq(START.plusHours(1)));
+        verify(this.appointmentRepository, times(1)).saveAndFlush(any(Appointment.class));
+    }
+
+    private static AppointmentDTO appointment(Long employeeId) {
+        AppointmentDTO appointment = new AppointmentDTO();
+        appointment.setOrganizationId(1L);
+        appointment.setEmployeeId(employeeId);
+        appointment.setStartAt(START);
+        appointment.setEndAt(START.plusHours(1));
+        return appointment;
+    }
+
+    private static BookedInterval booked(Long employeeId) {
+        return new BookedInterval() {
+            @Override
+            public Long getEmployeeId() {
+                return employeeId;
+            }
+
+            @Override
+            public LocalDateTime getStartAt() {
+                return START;
+            }
+
+            @Override
+            public LocalDateTime getEndAt() {
+                return START.plusHours(1);
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+package de.apnmt.appointment.service.booking;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.apnmt.appointment.config.ApplicationProperties;
+import de.apnmt.appointment.repository.AppointmentRangeRepository;
+import de.apnmt.appointment.repository.BookedAppointment;
+import de.apnmt.common.event.ApnmtEvent;
+import de.apnmt.common.event.ApnmtEventType;
+import de.apnmt.common.event.value.AppointmentEventDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentIntervalIndexTest {
+
+    private static final LocalDateTime START = LocalDate.now().plusDays(1).atTime(9, 0);
+
+    private static final LocalDateTime END = START.plusHours(1);
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private AppointmentRangeRepository appointmentRangeRepository;
+
+    private List<BookedAppointment> booked;
+
+    private AtomicInteger loads;
+
+    private AtomicLong nanos;
+
+    private PlatformTransactionManager transactionManager;
+
+    private AppointmentIntervalIndex appointmentIntervalIndex;
+
+    @BeforeEach
+    void setUp() {
+        this.appointmentRangeRepository = mock(AppointmentRangeRepository.class);
+        this.booked = new ArrayList<>();
+        this.loads = new AtomicInteger();
+        this.nanos = new AtomicLong();
+        this.transactionManager = mock(PlatformTransactionManager.class);
+        when(this.appointmentRangeRepository.findBookedAppointmentsEndingAfter(eq(1L), eq(2L), any())).thenAnswer(invocation -> {
+            this.loads.incrementAndGet();
+            return new ArrayList<>(this.booked);
+        });
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBooking().setIntervalIndexTtl(TTL);
+        this.appointmentIntervalIndex = new AppointmentIntervalIndex(
+            this.appointmentRangeRepository,
+            this.transactionManager,
+            applicationProperties,
+            this.nanos::get
+        );
+    }
+
+    @Test
+    void loadsEmployeeOnce() {
+        this.booked.add(appointment(1L, START));
+
+        assertThat(this.overlaps()).isTrue();
+        assertThat(this.overlaps()).isTrue();
+        assertThat(this.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void appliesEvents() {
+        this.booked.add(appointment(1L, START));
+        assertThat(this.overlaps()).isTrue();
+
+        this.appointmentIntervalIndex.apply(event(ApnmtEventType.appointmentDeleted, 1L));
+
+        assertThat(this.overlaps()).isFalse();
+        assertThat(this.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void reloadsMissedDeleteAfterTtl() {
+        this.booked.add(appointment(1L, START));
+        assertThat(this.overlaps()).isTrue();
+
+        // Deleted by another replica whose event never arrived
+        this.booked.clear();
+        // Mutations must not extend the lifetime of the loaded snapshot
+        this.nanos.addAndGet(TTL.toNanos() / 2);
+        this.appointmentIntervalIndex.apply(event(ApnmtEventType.appointmentCreated, 2L));
+        assertThat(this.overlaps()).isTrue();
+        this.nanos.addAndGet(TTL.toNanos() / 2 + 1);
+
+        assertThat(this.overlaps()).isFalse();
+        assertThat(this.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotStoreSnapshotMutatedWhileLoading() {
+        when(this.appointmentRangeRepository.findBookedAppointmentsEndingAfter(eq(1L), eq(2L), any())).thenAnswer(invocation -> {
+            this.loads.incrementAndGet();
+            List<BookedAppointment> snapshot = List.of(appointment(1L, START));
+            // Deleted and committed after the snapshot was read
+            this.appointmentIntervalIndex.apply(event(ApnmtEventType.appointmentDeleted, 1L));
+            return snapshot;
+        });
+
+        assertThat(this.overlaps()).isTrue();
+        assertThat(this.overlaps()).isTrue();
+        assertThat(this.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void checksPastSlotAgainstOwnQuery() {
+        LocalDateTime past = START.minusDays(30);
+        this.booked.add(appointment(1L, past));
+
+        assertThat(this.appointmentIntervalIndex.overlaps(1L, 2L, past, past.plusHours(1), null)).isTrue();
+
+        verify(this.appointmentRangeRepository).findBookedAppointmentsEndingAfter(1L, 2L, past);
+        assertThat(this.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void joinsCurrentTransaction() {
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+
+        assertThat(this.overlaps()).isFalse();
+
+        verify(this.transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getPropagationBehavior()).isEqualTo(TransactionDefinition.PROPAGATION_REQUIRED);
+        assertThat(definition.getValue().isReadOnly()).isFalse();
+    }
+
+    private boolean overlaps() {
+        return this.appointmentIntervalIndex.overlaps(1L, 2L, START, END, null);
+    }
+
+    private static BookedAppointment appointment(Long id, LocalDateTime startAt) {
+        return new BookedAppointment() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStartAt() {
+                return startAt;
+            }
+
+            @Override
+            public LocalDateTime getEndAt() {
+                return startAt.plusHours(1);
+            }
+        };
+    }
+
+    private static ApnmtEvent<AppointmentEventDTO> event(ApnmtEventType type, Long id) {
+        AppointmentEventDTO appointment = new AppointmentEventDTO();
+        appointment.setId(id);
+        appointment.setOrganizationId(1L);
+        appointment.setEmployeeId(2L);
+        appointment.setStartAt(START.plusDays(1));
+        appointment.setEndAt(END.plusDays(1));
+        return new ApnmtEvent<AppointmentEventDTO>().timestamp(LocalDateTime.now()).type(type).value(appointment);
+    }
+}
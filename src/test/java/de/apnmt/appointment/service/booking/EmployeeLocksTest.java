@@ -0,0 +1,121 @@
+package de.apnmt.appointment.service.booking;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeLocksTest {
+
+    private final EmployeeLocks employeeLocks = new EmployeeLocks();
+
+    @Test
+    void serializesSameEmployee() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> this.runLocked(1L, () -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    Thread.sleep(10);
+                    return active.decrementAndGet();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(maxActive.get()).isEqualTo(1);
+        assertThat(this.employeeLocks.size()).isZero();
+    }
+
+    @Test
+    void doesNotBlockOtherEmployees() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> this.runLocked(1L, () -> {
+                locked.countDown();
+                return release.await(10, TimeUnit.SECONDS);
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(this.runLocked(2L, () -> "booked")).isEqualTo("booked");
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(this.employeeLocks.size()).isZero();
+    }
+
+    @Test
+    void holdsLocksOfAllEmployees() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> holder = executor.submit(() -> this.runLocked(List.of(3L, 1L, 2L), () -> {
+                locked.countDown();
+                return release.await(10, TimeUnit.SECONDS);
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> waiting = executor.submit(() -> this.runLocked(2L, booked::incrementAndGet));
+            Thread.sleep(100);
+            assertThat(booked.get()).isZero();
+            assertThat(this.runLocked(4L, () -> "booked")).isEqualTo("booked");
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            waiting.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(booked.get()).isEqualTo(1);
+        assertThat(this.employeeLocks.size()).isZero();
+    }
+
+    @Test
+    void releasesLockOnFailure() {
+        assertThatThrownBy(() -> this.runLocked(1L, () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(this.employeeLocks.size()).isZero();
+    }
+
+    private <T> T runLocked(Collection<Long> employeeIds, EmployeeLocks.LockedAction<T> action) throws Exception {
+        try {
+            return this.employeeLocks.runLocked(employeeIds, action);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> T runLocked(Long employeeId, EmployeeLocks.LockedAction<T> action) throws Exception {
+        try {
+            return this.employeeLocks.runLocked(employeeId, action);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
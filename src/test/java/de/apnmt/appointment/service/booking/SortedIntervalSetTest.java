@@ -0,0 +1,77 @@
+package de.apnmt.appointment.service.booking;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedIntervalSetTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2021, 12, 24, 12, 0);
+
+    private SortedIntervalSet intervals;
+
+    @BeforeEach
+    public void initTest() {
+        // 10:00 - 11:00, 12:00 - 13:00 and a long one 08:00 - 09:30
+        this.intervals = SortedIntervalSet.of(Arrays.asList(
+            new SortedIntervalSet.Interval(1L, NOON.minusHours(2), NOON.minusHours(1)),
+            new SortedIntervalSet.Interval(2L, NOON, NOON.plusHours(1)),
+            new SortedIntervalSet.Interval(3L, NOON.minusHours(4), NOON.minusMinutes(150))
+        ));
+    }
+
+    @Test
+    void emptySetHasNoOverlap() {
+        assertThat(SortedIntervalSet.EMPTY.overlaps(NOON, NOON.plusHours(1), null)).isFalse();
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        assertThat(this.intervals.overlaps(NOON.minusHours(1), NOON, null)).isFalse();
+        assertThat(this.intervals.overlaps(NOON.plusHours(1), NOON.plusHours(2), null)).isFalse();
+    }
+
+    @Test
+    void overlappingIntervalsAreDetected() {
+        // same slot
+        assertThat(this.intervals.overlaps(NOON, NOON.plusHours(1), null)).isTrue();
+        // end inside
+        assertThat(this.intervals.overlaps(NOON.minusMinutes(30), NOON.plusMinutes(30), null)).isTrue();
+        // start inside
+        assertThat(this.intervals.overlaps(NOON.plusMinutes(30), NOON.plusHours(2), null)).isTrue();
+        // inside
+        assertThat(this.intervals.overlaps(NOON.plusMinutes(15), NOON.plusMinutes(45), null)).isTrue();
+        // surrounding
+        assertThat(this.intervals.overlaps(NOON.minusMinutes(30), NOON.plusMinutes(90), null)).isTrue();
+        // reaching back into the long interval
+        assertThat(this.intervals.overlaps(NOON.minusMinutes(160), NOON.minusMinutes(140), null)).isTrue();
+    }
+
+    @Test
+    void excludedIntervalIsIgnored() {
+        assertThat(this.intervals.overlaps(NOON.plusMinutes(30), NOON.plusHours(2), 2L)).isFalse();
+        assertThat(this.intervals.overlaps(NOON.minusMinutes(90), NOON.plusMinutes(30), 2L)).isTrue();
+    }
+
+    @Test
+    void withReplacesIntervalOfSameId() {
+        SortedIntervalSet moved = this.intervals.with(2L, NOON.plusHours(3), NOON.plusHours(4));
+
+        assertThat(moved.size()).isEqualTo(3);
+        assertThat(moved.overlaps(NOON, NOON.plusHours(1), null)).isFalse();
+        assertThat(moved.overlaps(NOON.plusHours(3), NOON.plusHours(4), null)).isTrue();
+        assertThat(this.intervals.overlaps(NOON, NOON.plusHours(1), null)).isTrue();
+    }
+
+    @Test
+    void withoutRemovesInterval() {
+        SortedIntervalSet removed = this.intervals.without(3L);
+
+        assertThat(removed.size()).isEqualTo(2);
+        assertThat(removed.overlaps(NOON.minusMinutes(160), NOON.minusMinutes(140), null)).isFalse();
+        assertThat(this.intervals.without(42L)).isSameAs(this.intervals);
+    }
+}
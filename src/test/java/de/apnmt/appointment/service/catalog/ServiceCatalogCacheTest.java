@@ -0,0 +1,122 @@
+package de.apnmt.appointment.service.catalog;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.apnmt.appointment.common.service.dto.ServiceDTO;
+import de.apnmt.common.event.value.ServiceEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import tech.jhipster.config.JHipsterProperties;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceCatalogCacheTest {
+
+    private ServiceCatalogCache serviceCatalogCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        this.serviceCatalogCache = new ServiceCatalogCache(new JHipsterProperties(), new SimpleMeterRegistry());
+        this.loads = new AtomicInteger();
+    }
+
+    @Test
+    void cachesOrganizationPerArguments() throws Throwable {
+        this.getOrganization(1L, 0, 1L);
+        this.getOrganization(1L, 0, 1L);
+        this.getOrganization(1L, 1, 1L);
+
+        assertThat(this.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsOrganizationAndService() throws Throwable {
+        this.getOrganization(1L, 0, 1L);
+        this.getOrganization(2L, 0, 2L);
+        this.getService(1L);
+
+        this.serviceCatalogCache.evict(event(1L, 1L));
+        this.getOrganization(1L, 0, 1L);
+        this.getOrganization(2L, 0, 2L);
+        this.getService(1L);
+
+        assertThat(this.loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    void evictsPreviousOrganizationOfMovedService() throws Throwable {
+        this.getOrganization(1L, 0, 1L);
+
+        this.serviceCatalogCache.evict(event(1L, 2L));
+        this.getOrganization(1L, 0, 1L);
+
+        assertThat(this.loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void boundsResponsesOfOrganization() throws Throwable {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getCaffeine().setMaxEntries(10);
+        this.serviceCatalogCache = new ServiceCatalogCache(jHipsterProperties, new SimpleMeterRegistry());
+
+        for (int page = 0; page < 100; page++) {
+            this.getOrganization(1L, page, 1L);
+        }
+
+        assertThat(this.serviceCatalogCache.organizationResponses()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void evictsAllResponsesOfOrganization() throws Throwable {
+        this.getOrganization(1L, 0, 1L);
+        this.getOrganization(1L, 1, 1L);
+        this.getOrganization(2L, 0, 2L);
+
+        this.serviceCatalogCache.evict(event(3L, 1L));
+        this.getOrganization(1L, 0, 1L);
+        this.getOrganization(1L, 1, 1L);
+        this.getOrganization(2L, 0, 2L);
+
+        assertThat(this.loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    void doesNotCacheFailedResponses() throws Throwable {
+        this.serviceCatalogCache.getService(1L, () -> {
+            this.loads.incrementAndGet();
+            return ResponseEntity.notFound().build();
+        });
+        this.getService(1L);
+
+        assertThat(this.loads.get()).isEqualTo(2);
+    }
+
+    private void getOrganization(Long organizationId, int page, Long serviceId) throws Throwable {
+        ServiceDTO service = new ServiceDTO();
+        service.setId(serviceId);
+        service.setOrganizationId(organizationId);
+        this.serviceCatalogCache.getOrganization(organizationId, List.of(page), () -> {
+            this.loads.incrementAndGet();
+            return ResponseEntity.ok(Collections.singletonList(service));
+        });
+    }
+
+    private void getService(Long id) throws Throwable {
+        this.serviceCatalogCache.getService(id, () -> {
+            this.loads.incrementAndGet();
+            return ResponseEntity.ok(new ServiceDTO());
+        });
+    }
+
+    private static ServiceEventDTO event(Long id, Long organizationId) {
+        ServiceEventDTO service = new ServiceEventDTO();
+        service.setId(id);
+        service.setOrganizationId(organizationId);
+        return service;
+    }
+}
@@ -0,0 +1,78 @@
+package de.apnmt.appointment.service.partition;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.EnabledIf;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link AppointmentPartitionJob}, run against PostgreSQL with the 'testcontainers' profile.
+ * <p>
+ * Not transactional, the partitions are created in transactions of their own.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.partitioning.enabled=true",
+        "application.partitioning.months-ahead=1",
+        // A database of its own, the other tests run against the unpartitioned table
+        "spring.datasource.url=jdbc:tc:postgresql:13.5:///appointmentservice_partitioned?TC_TMPFS=/testtmpfs:rw",
+    }
+)
+@EnabledIf(expression = "#{environment.acceptsProfiles('testcontainers')}", loadContext = true)
+class AppointmentPartitionJobIT {
+
+    private static final YearMonth MONTH = YearMonth.now().plusMonths(24);
+
+    private static final String PARTITION = "appointment_" + MONTH.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentPartitionJob appointmentPartitionJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        this.appointmentRepository.deleteAll();
+    }
+
+    @Test
+    void createPartitionMovesRowsOutOfDefaultPartition() {
+        LocalDateTime startAt = MONTH.atDay(10).atTime(9, 0);
+        Appointment booked = this.appointmentRepository.saveAndFlush(
+            new Appointment().startAt(startAt).endAt(startAt.plusHours(1)).organizationId(1L).employeeId(1L)
+        );
+        assertThat(this.count("appointment_default", booked.getId())).isEqualTo(1);
+
+        assertThat(this.appointmentPartitionJob.createPartition(MONTH)).isTrue();
+
+        assertThat(this.count("appointment_default", booked.getId())).isZero();
+        assertThat(this.count(PARTITION, booked.getId())).isEqualTo(1);
+        assertThat(this.appointmentRepository.findById(booked.getId())).isPresent();
+        // The default partition is attached again and still takes appointments booked further ahead
+        LocalDateTime later = MONTH.plusMonths(1).atDay(10).atTime(9, 0);
+        Appointment next = this.appointmentRepository.saveAndFlush(
+            new Appointment().startAt(later).endAt(later.plusHours(1)).organizationId(1L).employeeId(1L)
+        );
+        assertThat(this.count("appointment_default", next.getId())).isEqualTo(1);
+        assertThat(this.appointmentPartitionJob.createPartition(MONTH)).isFalse();
+    }
+
+    private Integer count(String table, Long id) {
+        return this.jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE id = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,29 @@
+package de.apnmt.appointment.service.partition;
+
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppointmentPartitionJobTest {
+
+    @Test
+    void createsPartitionOfMonth() {
+        assertThat(AppointmentPartitionJob.statements(YearMonth.of(2026, 12), false))
+            .containsExactly(
+                "CREATE TABLE appointment_2026_12 PARTITION OF appointment FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')"
+            );
+    }
+
+    @Test
+    void movesRowsOutOfDetachedDefaultPartition() {
+        assertThat(AppointmentPartitionJob.statements(YearMonth.of(2026, 12), true))
+            .containsExactly(
+                "ALTER TABLE appointment DETACH PARTITION appointment_default",
+                "CREATE TABLE appointment_2026_12 PARTITION OF appointment FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')",
+                "INSERT INTO appointment SELECT * FROM appointment_default WHERE start_at >= '2026-12-01' AND start_at < '2027-01-01'",
+                "DELETE FROM appointment_default WHERE start_at >= '2026-12-01' AND start_at < '2027-01-01'",
+                "ALTER TABLE appointment ATTACH PARTITION appointment_default DEFAULT"
+            );
+    }
+}
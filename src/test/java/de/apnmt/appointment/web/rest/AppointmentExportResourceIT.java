@@ -0,0 +1,96 @@
+package de.apnmt.appointment.web.rest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link AppointmentExportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+class AppointmentExportResourceIT {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2021, 12, 24, 8, 0);
+    private static final LocalDateTime DAY_END = LocalDateTime.of(2021, 12, 24, 18, 0);
+
+    private static final Long ORGANIZATION_ID = 1L;
+    private static final Long EMPLOYEE_ID = 1L;
+
+    private static final String ENTITY_API_URL = "/api/appointments/organization/{organizationId}/export";
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MockMvc restAppointmentExportMockMvc;
+
+    private static Appointment createAppointment(LocalDateTime startAt) {
+        return new Appointment().startAt(startAt).endAt(startAt.plusHours(1)).organizationId(ORGANIZATION_ID).employeeId(EMPLOYEE_ID);
+    }
+
+    private final List<Appointment> appointments = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        this.appointmentRepository.deleteAll(this.appointments);
+    }
+
+    /**
+     * Not transactional, the export is streamed by another thread and only sees committed appointments.
+     */
+    @Test
+    void exportAppointments() throws Exception {
+        Appointment second = this.save(createAppointment(DAY_START.plusHours(2)));
+        Appointment first = this.save(createAppointment(DAY_START));
+        this.save(createAppointment(DAY_END));
+        this.save(createAppointment(DAY_START).organizationId(ORGANIZATION_ID + 1));
+
+        MvcResult result = this.restAppointmentExportMockMvc.perform(get(ENTITY_API_URL, ORGANIZATION_ID)
+                .param("start", DAY_START.toString())
+                .param("end", DAY_END.toString()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String[] lines = this.restAppointmentExportMockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(AppointmentExportResource.APPLICATION_NDJSON_VALUE))
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":" + first.getId());
+        assertThat(lines[1]).contains("\"id\":" + second.getId());
+    }
+
+    @Test
+    void exportAppointmentsWithInvalidRange() throws Exception {
+        this.restAppointmentExportMockMvc.perform(get(ENTITY_API_URL, ORGANIZATION_ID)
+                .param("start", DAY_END.toString())
+                .param("end", DAY_START.toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Appointment save(Appointment appointment) {
+        Appointment saved = this.appointmentRepository.saveAndFlush(appointment);
+        this.appointments.add(saved);
+        return saved;
+    }
+}
@@ -0,0 +1,153 @@
+package de.apnmt.appointment.web.rest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.service.dto.ImportResultDTO;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.k8s.common.test.AbstractEventSenderIT;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link AppointmentImportResource} REST controller.
+ */
+@EnableKafka
+@EmbeddedKafka(ports = {58255}, topics = {TopicConstants.APPOINTMENT_CHANGED_TOPIC})
+@IntegrationTest
+@AutoConfigureMockMvc
+class AppointmentImportResourceIT extends AbstractEventSenderIT {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2021, 12, 24, 8, 0);
+
+    private static final Long ORGANIZATION_ID = 1L;
+    private static final Long EMPLOYEE_ID = 1L;
+
+    private static final String ENTITY_API_URL = "/api/appointments/bulk";
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc restAppointmentImportMockMvc;
+
+    @Override
+    public String getTopic() {
+        return TopicConstants.APPOINTMENT_CHANGED_TOPIC;
+    }
+
+    private static AppointmentDTO createAppointment(LocalDateTime startAt, LocalDateTime endAt) {
+        AppointmentDTO appointment = new AppointmentDTO();
+        appointment.setStartAt(startAt);
+        appointment.setEndAt(endAt);
+        appointment.setOrganizationId(ORGANIZATION_ID);
+        appointment.setEmployeeId(EMPLOYEE_ID);
+        return appointment;
+    }
+
+    @Test
+    @Transactional
+    void importAppointments() throws Exception {
+        this.appointmentRepository.saveAndFlush(
+            new Appointment().startAt(DAY_START).endAt(DAY_START.plusHours(1)).organizationId(ORGANIZATION_ID).employeeId(EMPLOYEE_ID)
+        );
+        int databaseSizeBeforeImport = this.appointmentRepository.findAll().size();
+        List<AppointmentDTO> appointments = new ArrayList<>();
+        // Overlaps the stored appointment, is free, overlaps the previous row, is empty
+        appointments.add(createAppointment(DAY_START.plusMinutes(30), DAY_START.plusHours(2)));
+        appointments.add(createAppointment(DAY_START.plusHours(1), DAY_START.plusHours(2)));
+        appointments.add(createAppointment(DAY_START.plusMinutes(90), DAY_START.plusHours(3)));
+        appointments.add(createAppointment(DAY_START.plusHours(4), DAY_START.plusHours(4)));
+
+        this.restAppointmentImportMockMvc.perform(post(ENTITY_API_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(appointments)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(4)))
+            .andExpect(jsonPath("$.[0].status").value(ImportResultDTO.Status.CONFLICT.toString()))
+            .andExpect(jsonPath("$.[1].status").value(ImportResultDTO.Status.CREATED.toString()))
+            .andExpect(jsonPath("$.[1].id").isNumber())
+            .andExpect(jsonPath("$.[2].status").value(ImportResultDTO.Status.CONFLICT.toString()))
+            .andExpect(jsonPath("$.[3].status").value(ImportResultDTO.Status.INVALID.toString()));
+
+        assertThat(this.appointmentRepository.findAll()).hasSize(databaseSizeBeforeImport + 1);
+    }
+
+    @Test
+    @Transactional
+    void importAppointmentsAsNdjson() throws Exception {
+        int databaseSizeBeforeImport = this.appointmentRepository.findAll().size();
+        String body =
+            this.objectMapper.writeValueAsString(createAppointment(DAY_START, DAY_START.plusHours(1))) + "\n" +
+            "{\"startAt\": \"not a date\"}\n" +
+            this.objectMapper.writeValueAsString(createAppointment(DAY_START.plusHours(1), DAY_START.plusHours(2))) + "\n";
+
+        this.restAppointmentImportMockMvc.perform(post(ENTITY_API_URL)
+                .contentType(AppointmentExportResource.APPLICATION_NDJSON_VALUE)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(ImportResultDTO.Status.CREATED.toString()))
+            .andExpect(jsonPath("$.[1].status").value(ImportResultDTO.Status.INVALID.toString()))
+            .andExpect(jsonPath("$.[2].status").value(ImportResultDTO.Status.CREATED.toString()));
+
+        assertThat(this.appointmentRepository.findAll()).hasSize(databaseSizeBeforeImport + 2);
+    }
+
+    @Test
+    @Transactional
+    void importNdjsonWithSyntaxError() throws Exception {
+        int databaseSizeBeforeImport = this.appointmentRepository.findAll().size();
+        String body =
+            this.objectMapper.writeValueAsString(createAppointment(DAY_START, DAY_START.plusHours(1))) + "\n" +
+            "{\"startAt\": \n" +
+            this.objectMapper.writeValueAsString(createAppointment(DAY_START.plusHours(1), DAY_START.plusHours(2))) + "\n";
+
+        this.restAppointmentImportMockMvc.perform(post(ENTITY_API_URL)
+                .contentType(AppointmentExportResource.APPLICATION_NDJSON_VALUE)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$.[0].status").value(ImportResultDTO.Status.CREATED.toString()))
+            .andExpect(jsonPath("$.[1].status").value(ImportResultDTO.Status.INVALID.toString()))
+            .andExpect(jsonPath("$.[2].status").value(ImportResultDTO.Status.CREATED.toString()));
+
+        assertThat(this.appointmentRepository.findAll()).hasSize(databaseSizeBeforeImport + 2);
+    }
+
+    @Test
+    @Transactional
+    void importArrayWithSyntaxError() throws Exception {
+        int databaseSizeBeforeImport = this.appointmentRepository.findAll().size();
+        String body = "[" + this.objectMapper.writeValueAsString(createAppointment(DAY_START, DAY_START.plusHours(1))) + ", {\"startAt\": ]";
+
+        this.restAppointmentImportMockMvc.perform(post(ENTITY_API_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].status").value(ImportResultDTO.Status.CREATED.toString()))
+            .andExpect(jsonPath("$.[1].status").value(ImportResultDTO.Status.INVALID.toString()));
+
+        assertThat(this.appointmentRepository.findAll()).hasSize(databaseSizeBeforeImport + 1);
+    }
+}
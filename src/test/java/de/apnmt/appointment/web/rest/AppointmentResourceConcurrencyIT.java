@@ -0,0 +1,148 @@
+package de.apnmt.appointment.web.rest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.common.service.mapper.AppointmentMapper;
+import de.apnmt.appointment.common.web.rest.AppointmentResource;
+import de.apnmt.appointment.service.booking.AppointmentIntervalIndex;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.k8s.common.test.AbstractEventSenderIT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Concurrency tests for the create endpoint of the {@link AppointmentResource} REST controller.
+ * <p>
+ * The requests are not wrapped in a test transaction, so every booking is committed like in production. The created
+ * appointments are removed again after each test.
+ */
+@EnableKafka
+@EmbeddedKafka(ports = {58255}, topics = {TopicConstants.APPOINTMENT_CHANGED_TOPIC})
+@IntegrationTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class AppointmentResourceConcurrencyIT extends AbstractEventSenderIT {
+
+    private static final LocalDateTime START_AT = LocalDateTime.of(2022, 1, 10, 9, 0);
+    private static final LocalDateTime END_AT = LocalDateTime.of(2022, 1, 10, 10, 0);
+
+    private static final Long ORGANIZATION_ID = 1L;
+    private static final Long EMPLOYEE_ID = 1000L;
+
+    private static final int THREADS = 16;
+
+    private static final String ENTITY_API_URL = "/api/appointments";
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentMapper appointmentMapper;
+
+    @Autowired
+    private AppointmentIntervalIndex appointmentIntervalIndex;
+
+    @Autowired
+    private MockMvc restAppointmentMockMvc;
+
+    @Override
+    public String getTopic() {
+        return TopicConstants.APPOINTMENT_CHANGED_TOPIC;
+    }
+
+    @AfterEach
+    public void cleanUp() throws InterruptedException {
+        for (Appointment appointment : this.appointmentRepository.findAll()) {
+            if (appointment.getEmployeeId() >= EMPLOYEE_ID) {
+                this.appointmentRepository.delete(appointment);
+            }
+        }
+        // The repository publishes no events, so the index would still hold the deleted slots
+        this.appointmentIntervalIndex.clear();
+        // Drain the events of the created appointments
+        while (this.records.poll(500, TimeUnit.MILLISECONDS) != null) {
+            // Nothing to check here
+        }
+    }
+
+    @Test
+    void createAppointmentConcurrentlyForSameEmployee() throws Exception {
+        List<Callable<Integer>> requests = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            requests.add(() -> this.book(EMPLOYEE_ID));
+        }
+
+        List<Integer> statuses = this.runConcurrently(requests);
+
+        assertThat(statuses).filteredOn(status -> status == HttpStatus.CREATED.value()).hasSize(1);
+        assertThat(statuses).filteredOn(status -> status == HttpStatus.TOO_MANY_REQUESTS.value()).hasSize(THREADS - 1);
+        assertThat(this.appointmentRepository.findAll()).filteredOn(appointment -> EMPLOYEE_ID.equals(appointment.getEmployeeId())).hasSize(1);
+    }
+
+    @Test
+    void createAppointmentConcurrentlyForDifferentEmployees() throws Exception {
+        List<Callable<Integer>> requests = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            long employeeId = EMPLOYEE_ID + i;
+            requests.add(() -> this.book(employeeId));
+        }
+
+        List<Integer> statuses = this.runConcurrently(requests);
+
+        assertThat(statuses).hasSize(THREADS).allMatch(status -> status == HttpStatus.CREATED.value());
+        assertThat(this.appointmentRepository.findAll()).filteredOn(appointment -> appointment.getEmployeeId() >= EMPLOYEE_ID).hasSize(THREADS);
+    }
+
+    private int book(Long employeeId) throws Exception {
+        Appointment appointment = new Appointment().startAt(START_AT).endAt(END_AT).organizationId(ORGANIZATION_ID).employeeId(employeeId);
+        AppointmentDTO appointmentDTO = this.appointmentMapper.toDto(appointment);
+        return this.restAppointmentMockMvc.perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(appointmentDTO)))
+            .andReturn()
+            .getResponse()
+            .getStatus();
+    }
+
+    private List<Integer> runConcurrently(List<Callable<Integer>> requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (Callable<Integer> request : requests) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return request.call();
+                }));
+            }
+            start.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> future : futures) {
+                statuses.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return statuses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package de.apnmt.appointment.web.rest;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.EntityManager;
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import de.apnmt.appointment.common.repository.CustomerRepository;
+import de.apnmt.common.TopicConstants;
+import de.apnmt.k8s.common.test.AbstractEventSenderIT;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link BulkDeleteResource} REST controller.
+ */
+@EnableKafka
+@EmbeddedKafka(ports = {58255}, topics = {TopicConstants.APPOINTMENT_CHANGED_TOPIC})
+@IntegrationTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "application.bulk.delete-chunk-size=2")
+class BulkDeleteResourceIT extends AbstractEventSenderIT {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2021, 12, 24, 8, 0);
+
+    private static final Long ORGANIZATION_ID = 1L;
+    private static final Long OTHER_ORGANIZATION_ID = 2L;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restBulkDeleteMockMvc;
+
+    @Override
+    public String getTopic() {
+        return TopicConstants.APPOINTMENT_CHANGED_TOPIC;
+    }
+
+    private static Appointment createAppointment(Long organizationId, int hour) {
+        return new Appointment().startAt(DAY_START.plusHours(hour)).endAt(DAY_START.plusHours(hour + 1)).organizationId(organizationId).employeeId(1L);
+    }
+
+    @Test
+    @Transactional
+    void deleteAppointmentsOfOrganization() throws Exception {
+        for (int hour = 0; hour < 3; hour++) {
+            this.appointmentRepository.saveAndFlush(createAppointment(ORGANIZATION_ID, hour));
+        }
+        Appointment other = this.appointmentRepository.saveAndFlush(createAppointment(OTHER_ORGANIZATION_ID, 0));
+        long otherAppointments = this.appointmentRepository.findAll().stream().filter(appointment -> OTHER_ORGANIZATION_ID.equals(appointment.getOrganizationId())).count();
+
+        this.restBulkDeleteMockMvc.perform(delete("/api/appointments/organization/{organizationId}", ORGANIZATION_ID))
+            .andExpect(status().isNoContent())
+            .andExpect(header().string(BulkDeleteResource.DELETED_COUNT_HEADER, "3"));
+
+        this.em.clear();
+        assertThat(this.appointmentRepository.findAll())
+            .allMatch(appointment -> OTHER_ORGANIZATION_ID.equals(appointment.getOrganizationId()))
+            .hasSize((int) otherAppointments);
+        assertThat(this.appointmentRepository.findById(other.getId())).isPresent();
+    }
+
+    @Test
+    @Transactional
+    void deleteCustomersOfOrganization() throws Exception {
+        this.customerRepository.saveAndFlush(CustomerResourceIT.createEntity(this.em).organizationId(ORGANIZATION_ID));
+        this.customerRepository.saveAndFlush(CustomerResourceIT.createEntity(this.em).organizationId(OTHER_ORGANIZATION_ID));
+
+        this.restBulkDeleteMockMvc.perform(delete("/api/customers/organization/{organizationId}", ORGANIZATION_ID))
+            .andExpect(status().isNoContent())
+            .andExpect(header().string(BulkDeleteResource.DELETED_COUNT_HEADER, "1"));
+
+        this.em.clear();
+        assertThat(this.customerRepository.findAll()).noneMatch(customer -> ORGANIZATION_ID.equals(customer.getOrganizationId()));
+    }
+}
@@ -0,0 +1,113 @@
+package de.apnmt.appointment.web.rest;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.EntityManager;
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.domain.Customer;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import de.apnmt.appointment.common.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link KeysetPaginationResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+class KeysetPaginationResourceIT {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2021, 12, 24, 8, 0);
+
+    private static final Long ORGANIZATION_ID = 1L;
+    private static final Long EMPLOYEE_ID = 1L;
+
+    private static final String APPOINTMENTS_API_URL = "/api/appointments/organization/{organizationId}/seek";
+    private static final String CUSTOMERS_API_URL = "/api/customers/organization/{organizationId}/seek";
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restKeysetPaginationMockMvc;
+
+    private static Appointment createAppointment(LocalDateTime startAt) {
+        return new Appointment().startAt(startAt).endAt(startAt.plusHours(1)).organizationId(ORGANIZATION_ID).employeeId(EMPLOYEE_ID);
+    }
+
+    @Test
+    @Transactional
+    void getAppointmentsPageByPage() throws Exception {
+        // The second and third appointment start at the same time and are ordered by id
+        Appointment first = this.appointmentRepository.saveAndFlush(createAppointment(DAY_START));
+        Appointment second = this.appointmentRepository.saveAndFlush(createAppointment(DAY_START.plusHours(1)));
+        Appointment third = this.appointmentRepository.saveAndFlush(createAppointment(DAY_START.plusHours(1)));
+        this.appointmentRepository.saveAndFlush(createAppointment(DAY_START.plusHours(2)).organizationId(ORGANIZATION_ID + 1));
+
+        MvcResult page = this.restKeysetPaginationMockMvc.perform(get(APPOINTMENTS_API_URL, ORGANIZATION_ID).param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn();
+        String cursor = page.getResponse().getHeader(KeysetPaginationResource.NEXT_CURSOR_HEADER);
+
+        this.restKeysetPaginationMockMvc.perform(get(APPOINTMENTS_API_URL, ORGANIZATION_ID).param("size", "2").param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(header().doesNotExist(KeysetPaginationResource.NEXT_CURSOR_HEADER))
+            .andExpect(header().doesNotExist("X-Total-Count"));
+    }
+
+    @Test
+    @Transactional
+    void getCustomersPageByPage() throws Exception {
+        Customer first = this.customerRepository.saveAndFlush(CustomerResourceIT.createEntity(this.em).organizationId(ORGANIZATION_ID));
+        Customer second = this.customerRepository.saveAndFlush(CustomerResourceIT.createEntity(this.em).organizationId(ORGANIZATION_ID));
+
+        MvcResult page = this.restKeysetPaginationMockMvc.perform(get(CUSTOMERS_API_URL, ORGANIZATION_ID).param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andReturn();
+        String cursor = page.getResponse().getHeader(KeysetPaginationResource.NEXT_CURSOR_HEADER);
+
+        this.restKeysetPaginationMockMvc.perform(get(CUSTOMERS_API_URL, ORGANIZATION_ID).param("size", "1").param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+            .andExpect(header().doesNotExist(KeysetPaginationResource.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    @Transactional
+    void getAppointmentsWithInvalidCursor() throws Exception {
+        this.restKeysetPaginationMockMvc.perform(get(APPOINTMENTS_API_URL, ORGANIZATION_ID).param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+        this.restKeysetPaginationMockMvc.perform(get(CUSTOMERS_API_URL, ORGANIZATION_ID).param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,195 @@
+package de.apnmt.appointment.web.rest;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.EnabledIf;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link ReactiveAppointmentResource} REST controller next to the appointment REST controller
+ * sharing its paths, run against PostgreSQL with the 'testcontainers' profile.
+ * <p>
+ * Not transactional, the R2DBC connections only see committed appointments.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@TestPropertySource(
+    properties = {
+        "application.reactive-read.enabled=true",
+        // Never connected to, the test configuration replaces the client
+        "application.reactive-read.url=r2dbc:postgresql://localhost:5432/appointmentservice",
+        // A database of its own, which the R2DBC client of the test configuration is pointed at
+        "spring.datasource.url=jdbc:tc:postgresql:13.5:///appointmentservice_reactive?TC_TMPFS=/testtmpfs:rw",
+    }
+)
+@EnabledIf(expression = "#{environment.acceptsProfiles('testcontainers')}", loadContext = true)
+class ReactiveAppointmentResourceIT {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2021, 12, 24, 8, 0);
+    private static final LocalDateTime DAY_END = LocalDateTime.of(2021, 12, 24, 18, 0);
+
+    private static final Long ORGANIZATION_ID = 1L;
+    private static final Long EMPLOYEE_ID = 1L;
+
+    private static final Long ARCHIVED_ID = 1_000_000L;
+
+    private static final String ORGANIZATION_API_URL = "/api/appointments/organization/{organizationId}";
+    private static final String EMPLOYEE_API_URL = ORGANIZATION_API_URL + "/employee/{employeeId}";
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MockMvc restAppointmentMockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Appointment> appointments = new ArrayList<>();
+
+    private static Appointment createAppointment(LocalDateTime startAt) {
+        return new Appointment().startAt(startAt).endAt(startAt.plusHours(1)).organizationId(ORGANIZATION_ID).employeeId(EMPLOYEE_ID);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        this.appointmentRepository.deleteAll(this.appointments);
+        this.jdbcTemplate.update("DELETE FROM appointment_archive WHERE id = ?", ARCHIVED_ID);
+    }
+
+    @Test
+    void streamAppointmentsAsNdjson() throws Exception {
+        List<Long> ids = this.seed();
+
+        assertThat(this.stream(ORGANIZATION_API_URL, ORGANIZATION_ID)).containsExactlyElementsOf(ids);
+        assertThat(this.stream(EMPLOYEE_API_URL, ORGANIZATION_ID, EMPLOYEE_ID)).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void readAppointmentsAsJsonFromAppointmentResource() throws Exception {
+        List<Long> ids = this.seed();
+
+        for (MockHttpServletRequestBuilder rangeRequest : new MockHttpServletRequestBuilder[] {
+            this.rangeRequest(ORGANIZATION_API_URL, ORGANIZATION_ID),
+            this.rangeRequest(EMPLOYEE_API_URL, ORGANIZATION_ID, EMPLOYEE_ID),
+        }) {
+            this.restAppointmentMockMvc.perform(rangeRequest.accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.[*].id").value(contains(ids.get(0).intValue(), ids.get(1).intValue(), ids.get(2).intValue())));
+        }
+    }
+
+    /**
+     * Seeds two appointments within the day and an archived one between them, one of another organization and one
+     * reaching past the end of the day.
+     *
+     * @return the ids of the appointments within the day, ordered by start.
+     */
+    private List<Long> seed() {
+        Appointment second = this.save(createAppointment(DAY_START.plusHours(2)));
+        Appointment first = this.save(createAppointment(DAY_START));
+        this.save(createAppointment(DAY_START).organizationId(ORGANIZATION_ID + 1));
+        this.save(createAppointment(DAY_END.minusMinutes(30)));
+        this.jdbcTemplate.update(
+            "INSERT INTO appointment_archive (id, start_at, end_at, organization_id, employee_id, archived_at) VALUES (?, ?, ?, ?, ?, now())",
+            ARCHIVED_ID,
+            DAY_START.plusHours(1),
+            DAY_START.plusHours(2),
+            ORGANIZATION_ID,
+            EMPLOYEE_ID
+        );
+        return List.of(first.getId(), ARCHIVED_ID, second.getId());
+    }
+
+    private List<Long> stream(String url, Object... uriVariables) throws Exception {
+        MvcResult result = this.restAppointmentMockMvc.perform(this.rangeRequest(url, uriVariables).accept(AppointmentExportResource.APPLICATION_NDJSON_VALUE))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = this.restAppointmentMockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(AppointmentExportResource.APPLICATION_NDJSON_VALUE))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        List<Long> ids = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                ids.add(this.objectMapper.readTree(line).get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private MockHttpServletRequestBuilder rangeRequest(String url, Object... uriVariables) {
+        return get(url, uriVariables).param("start", DAY_START.toString()).param("end", DAY_END.toString());
+    }
+
+    private Appointment save(Appointment appointment) {
+        Appointment saved = this.appointmentRepository.saveAndFlush(appointment);
+        this.appointments.add(saved);
+        return saved;
+    }
+
+    @TestConfiguration
+    static class ReactiveReadTestConfiguration {
+
+        /**
+         * Points the R2DBC client at the database container started by the JDBC URL, whose port is only known once
+         * the first connection has been opened.
+         */
+        @Bean
+        @Primary
+        DatabaseClient testReactiveReadDatabaseClient(DataSource dataSource) throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                URI uri = URI.create(connection.getMetaData().getURL().substring("jdbc:".length()));
+                String url = "r2dbc:postgresql://" + uri.getHost() + ":" + uri.getPort() + uri.getPath();
+                ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url)
+                    .mutate()
+                    .option(ConnectionFactoryOptions.USER, connection.getMetaData().getUserName())
+                    // The password of the containers started by the Testcontainers JDBC driver
+                    .option(ConnectionFactoryOptions.PASSWORD, "test")
+                    .build();
+                return DatabaseClient.create(ConnectionFactories.get(options));
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package de.apnmt.appointment.web.rest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import de.apnmt.appointment.common.service.dto.AppointmentDTO;
+import de.apnmt.appointment.repository.AppointmentRow;
+import de.apnmt.appointment.repository.ReactiveAppointmentRepository;
+import de.apnmt.common.errors.HttpError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link ReactiveAppointmentResource} REST controller.
+ */
+class ReactiveAppointmentResourceTest {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2022, 1, 3, 8, 0);
+    private static final LocalDateTime DAY_END = LocalDateTime.of(2022, 1, 3, 18, 0);
+
+    private ReactiveAppointmentRepository reactiveAppointmentRepository;
+
+    private ReactiveAppointmentResource reactiveAppointmentResource;
+
+    @BeforeEach
+    void setUp() {
+        this.reactiveAppointmentRepository = mock(ReactiveAppointmentRepository.class);
+        this.reactiveAppointmentResource = new ReactiveAppointmentResource(this.reactiveAppointmentRepository);
+    }
+
+    @Test
+    void streamEmployeeAppointments() {
+        when(this.reactiveAppointmentRepository.findByOrganizationAndEmployee(1L, 2L, DAY_START, DAY_END))
+            .thenReturn(Flux.just(new AppointmentRow(3L, DAY_START, DAY_START.plusHours(1), 1L, 2L, 4L, null)));
+
+        List<AppointmentDTO> appointments = this.reactiveAppointmentResource.streamEmployeeAppointments(1L, 2L, DAY_START, DAY_END).collectList().block();
+
+        assertThat(appointments).hasSize(1);
+        AppointmentDTO appointment = appointments.get(0);
+        assertThat(appointment.getId()).isEqualTo(3L);
+        assertThat(appointment.getEmployeeId()).isEqualTo(2L);
+        assertThat(appointment.getCustomer().getId()).isEqualTo(4L);
+        assertThat(appointment.getService()).isNull();
+    }
+
+    @Test
+    void streamAppointmentsWithInvalidRange() {
+        assertThatThrownBy(() -> this.reactiveAppointmentResource.streamAppointments(1L, DAY_END, DAY_START)).isInstanceOf(HttpError.class);
+        verifyNoInteractions(this.reactiveAppointmentRepository);
+    }
+}
@@ -0,0 +1,180 @@
+package de.apnmt.appointment.web.rest;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.EntityManager;
+import de.apnmt.appointment.IntegrationTest;
+import de.apnmt.appointment.common.domain.Appointment;
+import de.apnmt.appointment.common.domain.Service;
+import de.apnmt.appointment.common.repository.AppointmentRepository;
+import de.apnmt.appointment.common.repository.ServiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link SlotResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+class SlotResourceIT {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2021, 12, 24, 8, 0);
+    private static final LocalDateTime DAY_END = LocalDateTime.of(2021, 12, 24, 18, 0);
+
+    private static final Long ORGANIZATION_ID = 1L;
+    private static final Long EMPLOYEE_ID = 1L;
+
+    private static final Integer SERVICE_DURATION = 30;
+
+    private static final String ENTITY_API_URL = "/api/slots/organization/{organizationId}/employee/{employeeId}";
+    private static final String ORGANIZATION_API_URL = "/api/slots/organization/{organizationId}";
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restSlotMockMvc;
+
+    private Service service;
+
+    public static Appointment createAppointment(LocalDateTime startAt, LocalDateTime endAt) {
+        return new Appointment().startAt(startAt).endAt(endAt).organizationId(ORGANIZATION_ID).employeeId(EMPLOYEE_ID);
+    }
+
+    @BeforeEach
+    public void initTest() {
+        this.service = ServiceResourceIT.createEntity(this.em).duration(SERVICE_DURATION).organizationId(ORGANIZATION_ID);
+    }
+
+    @Test
+    @Transactional
+    void getFreeSlots() throws Exception {
+        this.serviceRepository.saveAndFlush(this.service);
+        // 09:00 - 10:00, 10:20 - 11:00 (gap too short), 11:00 - 12:00 (touching), 11:30 - 12:30 (overlapping)
+        this.appointmentRepository.saveAndFlush(createAppointment(DAY_START.plusHours(1), DAY_START.plusHours(2)));
+        this.appointmentRepository.saveAndFlush(createAppointment(DAY_START.plusMinutes(140), DAY_START.plusHours(3)));
+        this.appointmentRepository.saveAndFlush(createAppointment(DAY_START.plusHours(3), DAY_START.plusHours(4)));
+        this.appointmentRepository.saveAndFlush(createAppointment(DAY_START.plusMinutes(210), DAY_START.plusMinutes(270)));
+
+        this.restSlotMockMvc.perform(get(ENTITY_API_URL, ORGANIZATION_ID, EMPLOYEE_ID)
+                .param("serviceId", this.service.getId().toString())
+                .param("start", DAY_START.toString())
+                .param("end", DAY_END.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].startAt").value(DAY_START.toString() + ":00"))
+            .andExpect(jsonPath("$.[0].endAt").value(DAY_START.plusHours(1).toString() + ":00"))
+            .andExpect(jsonPath("$.[1].startAt").value(DAY_START.plusMinutes(270).toString() + ":00"))
+            .andExpect(jsonPath("$.[1].endAt").value(DAY_END.toString() + ":00"));
+    }
+
+    @Test
+    @Transactional
+    void getFreeSlotsWithoutAppointments() throws Exception {
+        this.serviceRepository.saveAndFlush(this.service);
+
+        this.restSlotMockMvc.perform(get(ENTITY_API_URL, ORGANIZATION_ID, EMPLOYEE_ID)
+                .param("serviceId", this.service.getId().toString())
+                .param("start", DAY_START.toString())
+                .param("end", DAY_END.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].startAt").value(DAY_START.toString() + ":00"))
+            .andExpect(jsonPath("$.[0].endAt").value(DAY_END.toString() + ":00"));
+    }
+
+    @Test
+    @Transactional
+    void getFreeSlotsForFullyBookedRange() throws Exception {
+        this.serviceRepository.saveAndFlush(this.service);
+        this.appointmentRepository.saveAndFlush(createAppointment(DAY_START.minusHours(1), DAY_END.plusHours(1)));
+
+        this.restSlotMockMvc.perform(get(ENTITY_API_URL, ORGANIZATION_ID, EMPLOYEE_ID)
+                .param("serviceId", this.service.getId().toString())
+                .param("start", DAY_START.toString())
+                .param("end", DAY_END.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @Transactional
+    void getFreeSlotsForServiceOfOtherOrganization() throws Exception {
+        this.serviceRepository.saveAndFlush(this.service.organizationId(ORGANIZATION_ID + 1));
+
+        this.restSlotMockMvc.perform(get(ENTITY_API_URL, ORGANIZATION_ID, EMPLOYEE_ID)
+                .param("serviceId", this.service.getId().toString())
+                .param("start", DAY_START.toString())
+                .param("end", DAY_END.toString()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getFreeSlotsWithInvalidRange() throws Exception {
+        this.serviceRepository.saveAndFlush(this.service);
+
+        this.restSlotMockMvc.perform(get(ENTITY_API_URL, ORGANIZATION_ID, EMPLOYEE_ID)
+                .param("serviceId", this.service.getId().toString())
+                .param("start", DAY_END.toString())
+                .param("end", DAY_START.toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getFreeSlotsOfEmployees() throws Exception {
+        this.serviceRepository.saveAndFlush(this.service);
+        this.appointmentRepository.saveAndFlush(createAppointment(DAY_START, DAY_START.plusHours(1)));
+        this.appointmentRepository.saveAndFlush(createAppointment(DAY_START.plusHours(1), DAY_END).employeeId(EMPLOYEE_ID + 1));
+        this.appointmentRepository.saveAndFlush(createAppointment(DAY_START, DAY_END).employeeId(EMPLOYEE_ID + 2));
+
+        this.restSlotMockMvc.perform(get(ORGANIZATION_API_URL, ORGANIZATION_ID)
+                .param("employeeIds", EMPLOYEE_ID.toString(), String.valueOf(EMPLOYEE_ID + 1), String.valueOf(EMPLOYEE_ID + 3))
+                .param("serviceId", this.service.getId().toString())
+                .param("start", DAY_START.toString())
+                .param("end", DAY_END.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$.[0].employeeId").value(EMPLOYEE_ID.intValue()))
+            .andExpect(jsonPath("$.[0].slots", hasSize(1)))
+            .andExpect(jsonPath("$.[0].slots.[0].startAt").value(DAY_START.plusHours(1).toString() + ":00"))
+            .andExpect(jsonPath("$.[1].employeeId").value(EMPLOYEE_ID.intValue() + 1))
+            .andExpect(jsonPath("$.[1].slots", hasSize(1)))
+            .andExpect(jsonPath("$.[1].slots.[0].endAt").value(DAY_START.plusHours(1).toString() + ":00"))
+            .andExpect(jsonPath("$.[2].employeeId").value(EMPLOYEE_ID.intValue() + 3))
+            .andExpect(jsonPath("$.[2].slots", hasSize(1)))
+            .andExpect(jsonPath("$.[2].slots.[0].startAt").value(DAY_START.toString() + ":00"))
+            .andExpect(jsonPath("$.[2].slots.[0].endAt").value(DAY_END.toString() + ":00"));
+    }
+
+    @Test
+    @Transactional
+    void getFreeSlotsOfEmployeesWithoutEmployees() throws Exception {
+        this.serviceRepository.saveAndFlush(this.service);
+
+        this.restSlotMockMvc.perform(get(ORGANIZATION_API_URL, ORGANIZATION_ID)
+                .param("serviceId", this.service.getId().toString())
+                .param("start", DAY_START.toString())
+                .param("end", DAY_END.toString()))
+            .andExpect(status().isBadRequest());
+    }
+}